@@ -3,8 +3,10 @@ package com.example.clanhubadv.Security.JWT;
 import com.example.clanhubadv.service.exception.InvalidJwtException;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
@@ -12,49 +14,97 @@ import java.util.Date;
 
 @Component
 public class JwtCore {
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    // iat по стандарту в секундах; для сравнения с моментом отзыва нужна точность до миллисекунды
+    public static final String CLAIM_ISSUED_AT_MILLIS = "iat_ms";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.jwtLifeTime}")
     private long jwtLifeTime;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    // 0 - кэш проверенных токенов выключен
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    // Ключ и парсер строятся один раз: JwtParser неизменяемый и потокобезопасный
+    private Key signingKey;
+    private JwtParser jwtParser;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokenCache = verifiedCacheMaxSize > 0 ? new VerifiedTokenCache(verifiedCacheMaxSize) : null;
     }
 
     public String createToken(String email) {
+        return sign(Jwts.builder().setSubject(email));
+    }
+
+    // Токен с id, ролью и версией - по нему JwtAuthFilter может собрать principal без запроса в БД
+    public String createToken(UserDetailImpl user) {
+        return sign(Jwts.builder()
+                .setSubject(user.getEmail())
+                .claim(CLAIM_USER_ID, user.getId().toString())
+                .claim(CLAIM_ROLE, user.getRole() != null ? user.getRole().getRoleName() : null)
+                .claim(CLAIM_TOKEN_VERSION, user.getTokenVersion()));
+    }
+
+    private String sign(JwtBuilder builder) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtLifeTime);
 
-        return Jwts.builder()
-                .setSubject(email)
+        return builder
                 .setIssuedAt(now)
+                .claim(CLAIM_ISSUED_AT_MILLIS, now.getTime())
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token); // ✅ Используем parseClaimsJws, а не parseClaimsJwt
+    // Проверяет подпись и срок действия один раз и возвращает claims
+    public Claims parseAndValidate(String token) {
+        if (!StringUtils.hasText(token)) {
+            throw new InvalidJwtException("Invalid JWT token");
+        }
 
-            return true;
+        if (verifiedTokenCache != null) {
+            Claims cached = verifiedTokenCache.get(token);
+            if (cached != null) {
+                return cached;
+            }
+        }
 
-        } catch (JwtException e) {
+        Claims claims;
+        try {
+            claims = jwtParser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
             throw new InvalidJwtException("Invalid JWT token");
         }
+
+        if (verifiedTokenCache != null) {
+            verifiedTokenCache.put(token, claims);
+        }
+        return claims;
     }
 
-    public String getUserNameFromJwt(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)  // ✅ Используем parseClaimsJws
-                .getBody();
+    public VerifiedTokenCache getVerifiedTokenCache() {
+        return verifiedTokenCache;
+    }
 
-        return claims.getSubject();
+    public boolean validateToken(String token) {
+        parseAndValidate(token);
+        return true;
+    }
+
+    public String getUserNameFromJwt(String token) {
+        return parseAndValidate(token).getSubject();
     }
-   }
+}
@@ -0,0 +1,114 @@
+package com.example.clanhubadv.Security.JWT;
+
+import com.example.clanhubadv.entity.TokenRevocation;
+import com.example.clanhubadv.repository.TokenRevocationRepository;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Отзыв access-токенов без обращения к БД на пути запроса: для пользователя хранится момент отзыва
+// (в миллисекундах), и все его токены, выпущенные не позже этого момента (iat_ms), недействительны.
+// Токен, полученный сразу после отзыва (вход после сброса пароля), принимается, даже если выпущен в ту же секунду.
+// Запись нужна, только пока живы отозванные токены (jwt.jwtLifeTime), поэтому карта маленькая.
+// Источник истины - таблица token_revocation: читается при старте и периодически,
+// чтобы отзыв на одном инстансе доходил до остальных.
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private final TokenRevocationRepository revocationRepository;
+    private final long accessTokenLifetimeMillis;
+    private final Map<UUID, Long> revokedAtMillis = new ConcurrentHashMap<>();
+
+    public TokenRevocationList(TokenRevocationRepository revocationRepository,
+                               @Value("${jwt.jwtLifeTime}") long accessTokenLifetimeMillis) {
+        this.revocationRepository = revocationRepository;
+        this.accessTokenLifetimeMillis = accessTokenLifetimeMillis;
+    }
+
+    @PostConstruct
+    public void reload() {
+        LocalDateTime horizon = LocalDateTime.now().minus(Duration.ofMillis(accessTokenLifetimeMillis));
+        for (TokenRevocation revocation : revocationRepository.findByRevokedAtAfter(horizon)) {
+            revokedAtMillis.merge(revocation.getUserId(), toMillis(revocation.getRevokedAt()), Math::max);
+        }
+        evictExpired();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:10000}",
+            initialDelayString = "${jwt.revocation.sync-interval-ms:10000}")
+    public void sync() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.error("Token revocation sync failed", e);
+        }
+    }
+
+    // Все токены пользователя, выпущенные до этого момента, перестают приниматься
+    @Transactional
+    public void revokeAll(UUID userId) {
+        LocalDateTime now = LocalDateTime.now();
+        revocationRepository.save(new TokenRevocation(userId, now));
+        revokedAtMillis.merge(userId, toMillis(now), Math::max);
+    }
+
+    public boolean isRevoked(Claims claims) {
+        if (revokedAtMillis.isEmpty()) {
+            return false;
+        }
+        String userId = claims.get(JwtCore.CLAIM_USER_ID, String.class);
+        if (userId == null) {
+            // Старые токены без uid проверяются по tokenVersion через БД
+            return false;
+        }
+        Long revokedAt = revokedAtMillis.get(UUID.fromString(userId));
+        if (revokedAt == null) {
+            return false;
+        }
+        Long issuedAtMillis = claims.get(JwtCore.CLAIM_ISSUED_AT_MILLIS, Long.class);
+        if (issuedAtMillis != null) {
+            return issuedAtMillis <= revokedAt;
+        }
+        // Токены, выпущенные до появления iat_ms: iat округлён вниз до секунды, поэтому токен
+        // из той же секунды, что и отзыв, считается отозванным
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt == null || issuedAt.getTime() <= revokedAt;
+    }
+
+    @Scheduled(cron = "${jwt.revocation.purge-cron:0 15 4 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int removed = revocationRepository.deleteRevokedBefore(
+                LocalDateTime.now().minus(Duration.ofMillis(accessTokenLifetimeMillis)));
+        if (removed > 0) {
+            log.info("Removed {} expired token revocations", removed);
+        }
+    }
+
+    public int getSize() {
+        return revokedAtMillis.size();
+    }
+
+    private static long toMillis(LocalDateTime revokedAt) {
+        return revokedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // Все токены, выпущенные до такого отзыва, уже истекли сами
+    private void evictExpired() {
+        long horizon = System.currentTimeMillis() - accessTokenLifetimeMillis;
+        revokedAtMillis.values().removeIf(revokedAt -> revokedAt < horizon);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.clanhubadv.Security.JWT;
 
 import com.example.clanhubadv.entity.Role;
 import com.example.clanhubadv.entity.User;
+import io.jsonwebtoken.Claims;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import org.springframework.security.core.GrantedAuthority;
@@ -20,6 +21,7 @@ public class UserDetailImpl implements UserDetails {
     private String password;
     private String email;
     private Role role;
+    private int tokenVersion;
 
     public static UserDetailImpl build(User user) {
         return new UserDetailImpl(
@@ -27,7 +29,24 @@ public class UserDetailImpl implements UserDetails {
                 user.getUsername(),
                 user.getPassword(),
                 user.getEmail(),
-                user.getRole()
+                user.getRole(),
+                user.getTokenVersion()
+        );
+    }
+
+    // Лёгкий principal из уже проверенных claims, без обращения к БД.
+    // Пароля и username в токене нет - они на этом пути не нужны.
+    public static UserDetailImpl build(Claims claims) {
+        String roleName = claims.get(JwtCore.CLAIM_ROLE, String.class);
+        Integer tokenVersion = claims.get(JwtCore.CLAIM_TOKEN_VERSION, Integer.class);
+
+        return new UserDetailImpl(
+                UUID.fromString(claims.get(JwtCore.CLAIM_USER_ID, String.class)),
+                null,
+                null,
+                claims.getSubject(),
+                roleName != null ? new Role(roleName) : null,
+                tokenVersion != null ? tokenVersion : 0
         );
     }
 
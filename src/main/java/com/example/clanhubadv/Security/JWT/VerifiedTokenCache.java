@@ -0,0 +1,90 @@
+package com.example.clanhubadv.Security.JWT;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// LRU уже проверенных токенов: ключ - SHA-256 всего токена, значение - claims.
+// Запись живёт ровно до exp токена, поэтому повторный запрос с тем же bearer
+// пропускает base64, разбор JSON и HMAC. Изменённый токен даёт другой ключ
+// и всегда проходит полную проверку.
+public class VerifiedTokenCache {
+
+    private final Cache<String, Claims> cache;
+
+    public VerifiedTokenCache(long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public Claims get(String token) {
+        String key = digest(token);
+        Claims claims = cache.getIfPresent(key);
+
+        // Страховка на случай, если запись ещё не вычищена по времени
+        if (claims != null && claims.getExpiration().before(new Date())) {
+            cache.invalidate(key);
+            return null;
+        }
+        return claims;
+    }
+
+    public void put(String token, Claims claims) {
+        // Токены без exp не кэшируем - для них нет границы жизни записи
+        if (claims.getExpiration() != null) {
+            cache.put(digest(token), claims);
+        }
+    }
+
+    public double getHitRatio() {
+        return cache.stats().hitRate();
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
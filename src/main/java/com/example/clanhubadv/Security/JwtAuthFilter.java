@@ -1,12 +1,19 @@
 package com.example.clanhubadv.Security;
 
 import com.example.clanhubadv.Security.JWT.JwtCore;
+import com.example.clanhubadv.Security.JWT.TokenRevocationList;
+import com.example.clanhubadv.Security.JWT.UserDetailImpl;
 import com.example.clanhubadv.service.UserService;
+import com.example.clanhubadv.service.exception.InvalidJwtException;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -23,7 +30,13 @@ import java.util.List;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtCore jwtCore;
+    private final TokenRevocationList tokenRevocationList;
     private final UserService userService;
+    private final MeterRegistry meterRegistry;
+
+    // true - principal собирается из claims токена, без запроса пользователя в БД
+    @Value("${jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
 
     private static final List<String> PUBLIC_ENDPOINTS = List.of(
             "/api/auth/sign-up",
@@ -55,9 +68,33 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         String jwt = parseJwt(request);
 
-        if (jwt != null && jwtCore.validateToken(jwt)) {
-            String email = jwtCore.getUserNameFromJwt(jwt);
-            UserDetails userDetails = userService.loadUserByUsername(email);
+        if (jwt != null) {
+            Claims claims;
+            Timer.Sample validation = Timer.start(meterRegistry);
+            try {
+                // Подпись проверяется ровно один раз за запрос
+                claims = jwtCore.parseAndValidate(jwt);
+            } catch (InvalidJwtException e) {
+                validation.stop(validationTimer("invalid"));
+                SecurityContextHolder.clearContext();
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            // Отзыв (выход, смена пароля, удаление) проверяется по карте в памяти, без БД
+            if (tokenRevocationList.isRevoked(claims)) {
+                validation.stop(validationTimer("revoked"));
+                SecurityContextHolder.clearContext();
+                filterChain.doFilter(request, response);
+                return;
+            }
+            validation.stop(validationTimer("valid"));
+
+            UserDetails userDetails = resolvePrincipal(claims);
+            if (userDetails == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
 
             UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                     userDetails, null, userDetails.getAuthorities()
@@ -69,6 +106,30 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private Timer validationTimer(String outcome) {
+        return Timer.builder("jwt.validation")
+                .description("JWT parsing and signature validation in JwtAuthFilter")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private UserDetails resolvePrincipal(Claims claims) {
+        // Старые токены без uid (выданные до включения режима) идут через БД
+        if (statelessPrincipal && claims.get(JwtCore.CLAIM_USER_ID) != null) {
+            return UserDetailImpl.build(claims);
+        }
+
+        UserDetails userDetails = userService.loadUserByUsername(claims.getSubject());
+
+        // Версия в токене устарела (пароль был сброшен) - токен больше не действителен
+        Integer tokenVersion = claims.get(JwtCore.CLAIM_TOKEN_VERSION, Integer.class);
+        if (tokenVersion != null && userDetails instanceof UserDetailImpl user
+                && user.getTokenVersion() != tokenVersion) {
+            return null;
+        }
+        return userDetails;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
         if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
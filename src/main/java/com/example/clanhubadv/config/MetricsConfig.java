@@ -0,0 +1,127 @@
+package com.example.clanhubadv.config;
+
+import com.example.clanhubadv.Security.JWT.JwtCore;
+import com.example.clanhubadv.Security.JWT.TokenRevocationList;
+import com.example.clanhubadv.Security.JWT.VerifiedTokenCache;
+import com.example.clanhubadv.Security.password.BoundedPasswordEncoder;
+import com.example.clanhubadv.service.cache.FamilyTaskFeedCache;
+import com.example.clanhubadv.service.cache.InviteCodeResolver;
+import com.example.clanhubadv.service.cache.UserDetailsCache;
+import com.example.clanhubadv.service.email.EmailOutbox;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+// Метрики собственных компонентов. HTTP, репозитории и Hikari инструментируются Spring Boot автоматически.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder userDetailsCacheMetrics(UserDetailsCache cache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", cache, UserDetailsCache::getHitCount)
+                    .tags("cache", "userDetails", "result", "hit").register(registry);
+            FunctionCounter.builder("cache.gets", cache, UserDetailsCache::getMissCount)
+                    .tags("cache", "userDetails", "result", "miss").register(registry);
+            FunctionCounter.builder("cache.evictions", cache, UserDetailsCache::getEvictionCount)
+                    .tag("cache", "userDetails").register(registry);
+            FunctionCounter.builder("cache.invalidations", cache, UserDetailsCache::getInvalidationCount)
+                    .tag("cache", "userDetails").register(registry);
+            Gauge.builder("cache.size", cache, UserDetailsCache::getSize)
+                    .tag("cache", "userDetails").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder familyTaskFeedCacheMetrics(FamilyTaskFeedCache cache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", cache, FamilyTaskFeedCache::getHitCount)
+                    .tags("cache", "familyTaskFeed", "result", "hit").register(registry);
+            FunctionCounter.builder("cache.gets", cache, FamilyTaskFeedCache::getMissCount)
+                    .tags("cache", "familyTaskFeed", "result", "miss").register(registry);
+            FunctionCounter.builder("cache.evictions", cache, FamilyTaskFeedCache::getEvictionCount)
+                    .tag("cache", "familyTaskFeed").register(registry);
+            FunctionCounter.builder("cache.invalidations", cache, FamilyTaskFeedCache::getInvalidationCount)
+                    .tag("cache", "familyTaskFeed").register(registry);
+            Gauge.builder("cache.size", cache, FamilyTaskFeedCache::getSize)
+                    .tag("cache", "familyTaskFeed").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder inviteCodeResolverMetrics(InviteCodeResolver resolver) {
+        return registry -> {
+            Gauge.builder("family.invite_codes.active", resolver, InviteCodeResolver::getSize)
+                    .register(registry);
+            FunctionCounter.builder("family.invite_codes.resolutions", resolver, InviteCodeResolver::getHitCount)
+                    .tag("result", "memory").register(registry);
+            FunctionCounter.builder("family.invite_codes.resolutions", resolver, InviteCodeResolver::getDatabaseLookupCount)
+                    .tag("result", "database").register(registry);
+            FunctionCounter.builder("family.invite_codes.resolutions", resolver, InviteCodeResolver::getRejectedCount)
+                    .tag("result", "rejected").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder verifiedTokenCacheMetrics(JwtCore jwtCore) {
+        return registry -> {
+            VerifiedTokenCache cache = jwtCore.getVerifiedTokenCache();
+            if (cache == null) {
+                return;
+            }
+            FunctionCounter.builder("cache.gets", cache, VerifiedTokenCache::getHitCount)
+                    .tags("cache", "verifiedTokens", "result", "hit").register(registry);
+            FunctionCounter.builder("cache.gets", cache, VerifiedTokenCache::getMissCount)
+                    .tags("cache", "verifiedTokens", "result", "miss").register(registry);
+            Gauge.builder("cache.size", cache, VerifiedTokenCache::getSize)
+                    .tag("cache", "verifiedTokens").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder emailOutboxMetrics(EmailOutbox outbox) {
+        return registry -> {
+            FunctionTimer.builder("email.send", outbox,
+                            EmailOutbox::getSendCount, EmailOutbox::getTotalSendTimeNanos, TimeUnit.NANOSECONDS)
+                    .description("SMTP send time per message, measured per batch")
+                    .register(registry);
+            FunctionCounter.builder("email.outbox.sent", outbox, EmailOutbox::getSentCount).register(registry);
+            FunctionCounter.builder("email.outbox.failed", outbox, EmailOutbox::getFailedCount).register(registry);
+            FunctionCounter.builder("email.outbox.retries", outbox, EmailOutbox::getRetryCount).register(registry);
+            FunctionCounter.builder("email.outbox.batches", outbox, EmailOutbox::getBatchCount).register(registry);
+            // COUNT по email_outbox на каждый scrape
+            Gauge.builder("email.outbox.pending", outbox, EmailOutbox::getQueueDepth)
+                    .description("Emails waiting in email_outbox")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder tokenRevocationMetrics(TokenRevocationList revocationList) {
+        return registry -> Gauge.builder("jwt.revocation.entries", revocationList, TokenRevocationList::getSize)
+                .description("Users with revoked access tokens still within their lifetime")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(BoundedPasswordEncoder encoder) {
+        return registry -> {
+            Gauge.builder("password.hashing.queued", encoder, BoundedPasswordEncoder::getQueueDepth)
+                    .register(registry);
+            Gauge.builder("password.hashing.active", encoder, BoundedPasswordEncoder::getActiveCount)
+                    .register(registry);
+            FunctionCounter.builder("password.hashing.rejected", encoder, BoundedPasswordEncoder::getRejectedCount)
+                    .description("Hashing requests shed with 429")
+                    .register(registry);
+            // Вместе с auth.refresh показывает, сколько BCrypt-проверок сэкономили refresh-токены
+            FunctionCounter.builder("password.hashing.operations", encoder, BoundedPasswordEncoder::getOperationCount)
+                    .description("BCrypt encode / matches calls")
+                    .register(registry);
+        };
+    }
+}
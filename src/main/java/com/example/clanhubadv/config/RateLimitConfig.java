@@ -0,0 +1,30 @@
+package com.example.clanhubadv.config;
+
+import com.example.clanhubadv.service.ratelimit.RateLimiter;
+import com.example.clanhubadv.service.ratelimit.SlidingWindowRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter registrationRateLimiter(
+            @Value("${registration.rate-limit.max-registrations:25}") int maxRegistrations,
+            @Value("${registration.rate-limit.window-minutes:5}") long windowMinutes,
+            @Value("${registration.rate-limit.max-tracked-ips:100000}") long maxTrackedIps) {
+        return new SlidingWindowRateLimiter(maxRegistrations, Duration.ofMinutes(windowMinutes), maxTrackedIps);
+    }
+
+    // Неудачные попытки вступить в семью по инвайт-коду, по пользователю
+    @Bean
+    public RateLimiter inviteCodeAttemptLimiter(
+            @Value("${family.invite-code.max-failed-attempts:10}") int maxFailedAttempts,
+            @Value("${family.invite-code.attempt-window-minutes:15}") long windowMinutes,
+            @Value("${family.invite-code.max-tracked-users:100000}") long maxTrackedUsers) {
+        return new SlidingWindowRateLimiter(maxFailedAttempts, Duration.ofMinutes(windowMinutes), maxTrackedUsers);
+    }
+}
@@ -36,8 +36,20 @@ public class ExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
 
+    @org.springframework.web.bind.annotation.ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<String> handlePasswordHashingOverloadedException(PasswordHashingOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", "1")
+                .body(e.getMessage());
+    }
+
     @org.springframework.web.bind.annotation.ExceptionHandler(ExcessRegistrationLimitException.class)
-    public ResponseEntity<String> handleExcessRegistrationLimitException(NullPointerException e) {
+    public ResponseEntity<String> handleExcessRegistrationLimitException(ExcessRegistrationLimitException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler(ExcessAttemptLimitException.class)
+    public ResponseEntity<String> handleExcessAttemptLimitException(ExcessAttemptLimitException e) {
         return new ResponseEntity<>(e.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
     }
 
@@ -120,6 +132,19 @@ public class ExceptionHandler {
         return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    @org.springframework.web.bind.annotation.ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<String> handleAccessDeniedException(AccessDeniedException e) {
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.FORBIDDEN);
+    }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidRefreshToken(InvalidRefreshTokenException e) {
+        ErrorResponseDto errorResponse = ErrorResponseDto.builder()
+                .error(e.getMessage())
+                .build();
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
+    }
+
     @org.springframework.web.bind.annotation.ExceptionHandler(NonExistingEmailException.class)
     public ResponseEntity<String> NonExistingEmailException(NonExistingEmailException e) {
         return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
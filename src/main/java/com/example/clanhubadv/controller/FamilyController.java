@@ -0,0 +1,127 @@
+package com.example.clanhubadv.controller;
+
+import com.example.clanhubadv.dto.requests.family.CreateFamilyRequest;
+import com.example.clanhubadv.dto.requests.family.JoinFamilyRequest;
+import com.example.clanhubadv.dto.responses.family.FamilyResponseDto;
+import com.example.clanhubadv.dto.responses.task.TaskResponseDto;
+import com.example.clanhubadv.service.FamilyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/families")
+@RequiredArgsConstructor
+@Tag(name = "Families", description = "Family membership and shared task feed")
+public class FamilyController {
+
+    private final FamilyService familyService;
+
+    @Operation(summary = "Create family",
+            description = "Creates a family with the current user as admin and first member",
+            security = @SecurityRequirement(name = "JWT"),
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Family created"),
+                    @ApiResponse(responseCode = "400", description = "User already belongs to a family or the name is taken"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized (authentication required)")
+            }
+    )
+    @PostMapping
+    public ResponseEntity<FamilyResponseDto> createFamily(@Valid @RequestBody CreateFamilyRequest request,
+                                                          Principal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(familyService.createFamily(request.getName(), principal.getName()));
+    }
+
+    @Operation(summary = "Join family",
+            description = "Adds the current user to the family with the given invite code. "
+                    + "Tasks the user created before joining become part of the family feed",
+            security = @SecurityRequirement(name = "JWT"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Joined the family"),
+                    @ApiResponse(responseCode = "400", description = "User already belongs to another family"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized (authentication required)"),
+                    @ApiResponse(responseCode = "404", description = "Invite code not found")
+            }
+    )
+    @PostMapping("/join")
+    public ResponseEntity<FamilyResponseDto> joinFamily(@Valid @RequestBody JoinFamilyRequest request,
+                                                        Principal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(familyService.joinByInviteCode(request.getInviteCode(), principal.getName()));
+    }
+
+    @Operation(summary = "Rotate invite code",
+            description = "Issues a new invite code for the current user's family; the old code stops working immediately. Admin only",
+            security = @SecurityRequirement(name = "JWT"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "New invite code issued"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized (authentication required)"),
+                    @ApiResponse(responseCode = "403", description = "Current user is not the family admin"),
+                    @ApiResponse(responseCode = "404", description = "User is not a member of any family")
+            }
+    )
+    @PostMapping("/invite-code/rotate")
+    public ResponseEntity<FamilyResponseDto> rotateInviteCode(Principal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(familyService.rotateInviteCode(principal.getName()));
+    }
+
+    @Operation(summary = "Get my family",
+            security = @SecurityRequirement(name = "JWT"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized (authentication required)"),
+                    @ApiResponse(responseCode = "404", description = "User is not a member of any family")
+            }
+    )
+    @GetMapping("/me")
+    public ResponseEntity<FamilyResponseDto> getMyFamily(Principal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(familyService.getFamily(principal.getName()));
+    }
+
+    @Operation(summary = "Family task feed",
+            description = "Tasks of all family members ordered by due date, in one call instead of one /api/tasks/list per member",
+            security = @SecurityRequirement(name = "JWT"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation",
+                            content = @Content(mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = TaskResponseDto.class)))),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized (authentication required)"),
+                    @ApiResponse(responseCode = "404", description = "User is not a member of any family")
+            }
+    )
+    @GetMapping("/tasks")
+    public ResponseEntity<List<TaskResponseDto>> getFamilyTasks(Principal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(familyService.getFamilyTasks(principal.getName()));
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.clanhubadv.controller;
 
 import com.example.clanhubadv.Security.JWT.JwtCore;
+import com.example.clanhubadv.Security.JWT.UserDetailImpl;
 import com.example.clanhubadv.dto.requests.password.PasswordResetRequest;
 import com.example.clanhubadv.dto.requests.password.ResetPasswordRequest;
 import com.example.clanhubadv.dto.requests.password.TokenVerificationRequest;
 import com.example.clanhubadv.dto.requests.signInUp.LoginRequest;
+import com.example.clanhubadv.dto.requests.signInUp.RefreshTokenRequest;
 import com.example.clanhubadv.dto.requests.signInUp.RegistrationRequest;
 import com.example.clanhubadv.dto.responses.ErrorResponseDto;
 import com.example.clanhubadv.dto.responses.UserResponseDto;
@@ -16,9 +18,9 @@ import com.example.clanhubadv.entity.PasswordResetToken;
 import com.example.clanhubadv.repository.PasswordResetTokenRepository;
 import com.example.clanhubadv.service.FindUserService;
 import com.example.clanhubadv.service.PasswordResetService;
+import com.example.clanhubadv.service.RefreshTokenService;
 import com.example.clanhubadv.service.RegisterUserService;
-import com.example.clanhubadv.service.exception.NonExistingEmailException;
-import com.example.clanhubadv.service.exception.ValidationException;
+import com.example.clanhubadv.service.SignInService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -29,11 +31,6 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -50,7 +47,8 @@ import java.util.Optional;
 public class SecurityController {
 
 
-    private final AuthenticationManager authenticationManager;
+    private final SignInService signInService;
+    private final RefreshTokenService refreshTokenService;
     private final JwtCore jwtCore;
     private final RegisterUserService registerUserService;
     private final FindUserService findUserService;
@@ -129,43 +127,53 @@ public class SecurityController {
             )
     @PostMapping("/sign-in")
     public ResponseEntity<AuthResponseDto> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        try {
-            // Спочатку перевіряємо, чи існує користувач
-            boolean userExists = findUserService.existsByEmail(loginRequest.getEmail());
-
-            if (!userExists) {
-                throw new NonExistingEmailException("Email not found");
-            }
-
-            // Тільки якщо користувач існує, намагаємося аутентифікувати
-            try {
-                Authentication authentication = authenticationManager.authenticate(
-                        new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword())
-                );
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-
-                String jwt = jwtCore.createToken(loginRequest.getEmail());
-                UserResponseDto userDto = findUserService.findUserByEmail(loginRequest.getEmail());
-
-                AuthResponseDto responseDto = AuthResponseDto.builder()
-                        .token(jwt)
-                        .user(userDto)
-                        .email(loginRequest.getEmail())
-                        .message("Login successful")
-                        .build();
+        return ResponseEntity.ok(signInService.signIn(loginRequest));
+    }
 
-                return ResponseEntity.ok(responseDto);
-            } catch (AuthenticationException e) {
-                // Викидаємо ValidationException для неправильного пароля
-                throw new ValidationException("Invalid email or password");
+    @Operation(
+            summary = "Refresh access token",
+            description = "Exchanges a refresh token for a new access token and a new refresh token. "
+                    + "Each refresh token can be used once; reusing one revokes the whole session",
+            responses = {@ApiResponse(responseCode = "200", description = "New token pair issued",
+                    content = @Content(mediaType = "application/json", examples = @ExampleObject(
+                            value = """
+                                    {
+                                      "token": "jwt-token-string",
+                                      "refreshToken": "next-refresh-token",
+                                      "user": {
+                                        "id": 1,
+                                        "username": "john_doe",
+                                        "email": "john@example.com"
+                                      },
+                                      "email": "john@example.com",
+                                      "message": "Token refreshed"
+                                    }
+                                    """
+                    ))),
+                    @ApiResponse(responseCode = "401", description = "Refresh token is invalid, expired or revoked",
+                            content = @Content(mediaType = "application/json", examples = @ExampleObject(
+                                    value = """
+                                            {
+                                              "error": "Refresh token has expired"
+                                            }
+                                            """
+                            )))
             }
-        } catch (NonExistingEmailException | ValidationException e) {
-
-            throw e;
-        } catch (Exception e) {
+    )
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDto> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(refreshTokenService.refresh(request.getRefreshToken()));
+    }
 
-            throw new NullPointerException("An unexpected error occurred: " + e.getMessage());
-        }
+    @Operation(
+            summary = "Log out",
+            description = "Revokes the refresh token and every token rotated from the same sign-in",
+            responses = {@ApiResponse(responseCode = "204", description = "Refresh token revoked")}
+    )
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
     }
 
 
@@ -182,6 +190,7 @@ public class SecurityController {
                                         "email": "new_user@example.com"
                                       },
                                       "token": "jwt-token-string",
+                                      "refreshToken": "refresh-token-string",
                                       "message": "User successfully registered",
                                       "status": "success"
                                     }
@@ -257,11 +266,15 @@ public class SecurityController {
 
         UserResponseDto newUser = registerUserService.createNewUser(request, httpRequest);
 
-        String jwt = jwtCore.createToken(request.getEmail());
+        // Новый пользователь всегда начинает с нулевой версии токена
+        String jwt = jwtCore.createToken(new UserDetailImpl(
+                newUser.getId(), newUser.getUsername(), null, newUser.getEmail(), newUser.getRole(), 0));
 
+        // Как и при входе: access-токен короткий, продлевать сессию клиент будет через /api/auth/refresh
         RegisterResponseDto responseDto = RegisterResponseDto.builder()
                 .user(newUser)
                 .token(jwt)
+                .refreshToken(refreshTokenService.issue(newUser.getId()))
                 .message("User successfully registered")
                 .status("success")
                 .build();
@@ -1,7 +1,12 @@
 package com.example.clanhubadv.controller;
 
+import com.example.clanhubadv.dto.requests.task.BatchTaskRequest;
+import com.example.clanhubadv.dto.requests.task.BulkTaskStatusRequest;
 import com.example.clanhubadv.dto.requests.task.TaskRequest;
 import com.example.clanhubadv.dto.requests.task.UpdateTaskDetailsRequest;
+import com.example.clanhubadv.dto.responses.task.TaskBatchResponseDto;
+import com.example.clanhubadv.dto.responses.task.TaskBulkStatusResponseDto;
+import com.example.clanhubadv.dto.responses.task.TaskKeysetPageResponseDto;
 import com.example.clanhubadv.dto.responses.task.TaskResponseDto;
 import com.example.clanhubadv.dto.responses.task.TaskResponseInCalendarDto;
 import com.example.clanhubadv.entity.Task;
@@ -10,21 +15,31 @@ import com.example.clanhubadv.entity.User;
 import com.example.clanhubadv.repository.TaskRepository;
 import com.example.clanhubadv.repository.UserRepository;
 import com.example.clanhubadv.service.TaskService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.time.LocalDate;
 import java.util.List;
@@ -39,6 +54,7 @@ import java.util.UUID;
         private final TaskService taskService;
         private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
 
 
     @Operation(
@@ -197,6 +213,45 @@ import java.util.UUID;
         return ResponseEntity.ok(tasks);
     }
 
+    @Operation(summary = "Stream List of Tasks",
+            description = "Same payload as /api/tasks/list, but the JSON array is written to the response task by task " +
+                    "while rows are read from the database, so memory use does not grow with the number of tasks",
+            security = @SecurityRequirement(name = "JWT"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation",
+                            content = @Content(mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = TaskResponseDto.class)))),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized (authentication required)")
+            }
+    )
+    @GetMapping(value = "/list/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void streamMyTasks(Principal principal, HttpServletResponse response) throws IOException {
+
+        if (principal == null) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return;
+        }
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        // Ошибка посреди потока: статус 200 и начало массива уже могли уйти клиенту. Поэтому генератор
+        // закрывается только после успешной записи - try-with-resources дописал бы "]" и обрезанный список
+        // выглядел бы полным. Исключение уходит в контейнер, а он при отправленном ответе обрывает соединение:
+        // клиент получает незавершённый JSON и разрыв, а не 200 с частью задач
+        JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream());
+        generator.writeStartArray();
+        taskService.streamTasksForUser(principal.getName(), task -> {
+            try {
+                generator.writeObject(task);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.writeEndArray();
+        generator.close();
+    }
+
 //
 
 //    @Operation(
@@ -226,82 +281,131 @@ import java.util.UUID;
 //        return ResponseEntity.ok(tasksInDateRange);
 //    }
       
-//    @Operation(
-//            summary = "Get tasks with pagination and filtering",
-//            description = "Retrieves a paginated list of tasks with optional filtering",
-//            security = @SecurityRequirement(name = "JWT"),
-//            responses = {
-//                    @ApiResponse(responseCode = "200", description = "Successful operation",
-//                            content = @Content(mediaType = "application/json",
-//                                    schema = @Schema(implementation = Page.class))),
-//                    @ApiResponse(responseCode = "401", description = "Unauthorized (authentication required)",
-//                            content = @Content(mediaType = "application/json", examples = @ExampleObject(
-//                                    value = """
-//                        {
-//                          "timestamp": "2025-03-25T16:26:19.597Z",
-//                          "status": 401,
-//                          "error": "Unauthorized",
-//                          "message": "Authentication required. Please log in.",
-//                          "path": "/api/tasks"
-//                        }
-//                        """
-//
-//                            ))),
-//                    @ApiResponse(responseCode = "403", description = "Forbidden (insufficient permissions)",
-//                            content = @Content(mediaType = "application/json", examples = @ExampleObject(
-//                                    value = """
-//                        {
-//                          "timestamp": "2025-03-25T16:26:19.597Z",
-//                          "status": 403,
-//                          "error": "Forbidden",
-//                          "message": "You do not have permission to access these tasks.",
-//                          "path": "/api/tasks"
-//                        }
-//                        """
-//                            ))),
-//                    @ApiResponse(responseCode = "404", description = "Not Found",
-//                            content = @Content(mediaType = "application/json", examples = @ExampleObject(
-//                                    value = """
-//                                            {
-//                                              "timestamp": "2025-03-25T16:26:19.597Z",
-//                                              "status": 404,
-//                                              "error": "Not Found",
-//                                              "message": "",
-//                                              "path": "/api/tasks"
-//                                            }
-//                                            """
-//                            ))),
-//                    @ApiResponse(responseCode = "500", description = "Internal server error",
-//                            content = @Content(mediaType = "application/json", examples = @ExampleObject(
-//                                    value = """
-//                                            {
-//                                              "timestamp": "2025-03-25T16:26:19.597Z",
-//                                              "status": 500,
-//                                              "error": "Internal Server Error",
-//                                              "message": "An unexpected error occurred.",
-//                                              "path": "/api/tasks"
-//                                            }
-//                                            """
-//                            )))
-//            }
-//    )
-//    @GetMapping
-////    вернуть список задач. Искать их по id
-//    public ResponseEntity<Page<TaskResponseDto>> getTasks(
-//            @Parameter(description = "Filter by family ID") @RequestParam(required = false) UUID familyId,
-//            @Parameter(description = "Filter by completion status") @RequestParam(required = false) Boolean completed,
-//            @Parameter(description = "Filter by assigned user ID") @RequestParam(required = false) UUID assignedTo,
-//            @Parameter(description = "Filter by priority level (1-5)") @RequestParam(required = false) Integer priority,
-//            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
-//            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
-//            @Parameter(description = "Sort field") @RequestParam(defaultValue = "createdAt") String sortBy,
-//            @Parameter(description = "Sort direction (ASC or DESC)") @RequestParam(defaultValue = "DESC") String direction) {
-//
-//        Page<TaskResponseDto> tasks = taskService.getTasks(
-//                familyId, completed, assignedTo, priority, page, size, sortBy, direction);
-//
-//        return ResponseEntity.ok(tasks);
-//    }
+    @Operation(
+            summary = "Get tasks with pagination and filtering",
+            description = "Retrieves a paginated list of tasks with optional filtering",
+            security = @SecurityRequirement(name = "JWT"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = Page.class))),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized (authentication required)",
+                            content = @Content(mediaType = "application/json", examples = @ExampleObject(
+                                    value = """
+                        {
+                          "timestamp": "2025-03-25T16:26:19.597Z",
+                          "status": 401,
+                          "error": "Unauthorized",
+                          "message": "Authentication required. Please log in.",
+                          "path": "/api/tasks"
+                        }
+                        """
+
+                            ))),
+                    @ApiResponse(responseCode = "403", description = "Forbidden (insufficient permissions)",
+                            content = @Content(mediaType = "application/json", examples = @ExampleObject(
+                                    value = """
+                        {
+                          "timestamp": "2025-03-25T16:26:19.597Z",
+                          "status": 403,
+                          "error": "Forbidden",
+                          "message": "You do not have permission to access these tasks.",
+                          "path": "/api/tasks"
+                        }
+                        """
+                            ))),
+                    @ApiResponse(responseCode = "404", description = "Not Found",
+                            content = @Content(mediaType = "application/json", examples = @ExampleObject(
+                                    value = """
+                                            {
+                                              "timestamp": "2025-03-25T16:26:19.597Z",
+                                              "status": 404,
+                                              "error": "Not Found",
+                                              "message": "",
+                                              "path": "/api/tasks"
+                                            }
+                                            """
+                            ))),
+                    @ApiResponse(responseCode = "500", description = "Internal server error",
+                            content = @Content(mediaType = "application/json", examples = @ExampleObject(
+                                    value = """
+                                            {
+                                              "timestamp": "2025-03-25T16:26:19.597Z",
+                                              "status": 500,
+                                              "error": "Internal Server Error",
+                                              "message": "An unexpected error occurred.",
+                                              "path": "/api/tasks"
+                                            }
+                                            """
+                            )))
+            }
+    )
+    @GetMapping
+    public ResponseEntity<Page<TaskResponseDto>> getTasks(
+            @Parameter(description = "Filter by family ID") @RequestParam(required = false) UUID familyId,
+            @Parameter(description = "Filter by completion status") @RequestParam(required = false) Boolean completed,
+            @Parameter(description = "Filter by task status") @RequestParam(required = false) TaskStatus status,
+            @Parameter(description = "Filter by assigned user ID") @RequestParam(required = false) UUID assignedTo,
+            @Parameter(description = "Filter by priority level (1-5)") @RequestParam(required = false) Integer priority,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort field") @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Sort direction (ASC or DESC)") @RequestParam(defaultValue = "DESC") String direction,
+            Principal principal) {
+
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        Page<TaskResponseDto> tasks = taskService.getTasks(
+                principal.getName(), familyId, completed, status, assignedTo, priority, page, size, sortBy, direction);
+
+        return ResponseEntity.ok(tasks);
+    }
+
+    @Operation(
+            summary = "Get tasks with seek (keyset) pagination",
+            description = "Returns tasks newest first. Pass nextCreatedAt/nextId from the previous page as afterCreatedAt/afterId " +
+                    "to get the next one; unlike page numbers, deep pages cost the same as the first one",
+            security = @SecurityRequirement(name = "JWT"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful operation",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = TaskKeysetPageResponseDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or page size",
+                            content = @Content(mediaType = "application/json", examples = @ExampleObject(
+                                    value = """
+                                            {
+                                              "status": 400,
+                                              "error": "Bad Request",
+                                              "message": "afterCreatedAt and afterId must be provided together"
+                                            }
+                                            """
+                            ))),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized (authentication required)")
+            }
+    )
+    @GetMapping("/seek")
+    public ResponseEntity<TaskKeysetPageResponseDto> getTasksAfter(
+            @Parameter(description = "createdAt of the last task on the previous page") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate afterCreatedAt,
+            @Parameter(description = "ID of the last task on the previous page") @RequestParam(required = false) UUID afterId,
+            @Parameter(description = "Filter by family ID") @RequestParam(required = false) UUID familyId,
+            @Parameter(description = "Filter by completion status") @RequestParam(required = false) Boolean completed,
+            @Parameter(description = "Filter by task status") @RequestParam(required = false) TaskStatus status,
+            @Parameter(description = "Filter by assigned user ID") @RequestParam(required = false) UUID assignedTo,
+            @Parameter(description = "Filter by priority level (1-5)") @RequestParam(required = false) Integer priority,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            Principal principal) {
+
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        TaskKeysetPageResponseDto tasks = taskService.getTasksAfter(
+                principal.getName(), afterCreatedAt, afterId, familyId, completed, status, assignedTo, priority, size);
+
+        return ResponseEntity.ok(tasks);
+    }
 
     @Operation(
             summary = "Get task by ID",
@@ -431,6 +535,28 @@ import java.util.UUID;
 
         return ResponseEntity.ok("Task created successfully");
     }
+
+    @Operation(
+            summary = "Create many tasks for the authenticated user",
+            description = "Creates up to " + BatchTaskRequest.MAX_TASKS + " tasks in one transaction, e.g. when importing recurring chores. "
+                    + "Either all tasks are created or none.",
+            security = @SecurityRequirement(name = "JWT"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Tasks successfully created"),
+                    @ApiResponse(responseCode = "400", description = "Validation failed for the batch or one of its tasks"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized (authentication required)")
+            }
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<TaskBatchResponseDto> createTasks(
+            Principal principal,
+            @Valid @RequestBody BatchTaskRequest request) {
+
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(taskService.createTasks(request.getTasks(), principal.getName()));
+    }
     @Operation(
             summary = "Update task status",
             description = "Updates the status(completed/not completed) of a specific task",
@@ -493,6 +619,28 @@ import java.util.UUID;
     return ResponseEntity.ok(updatedTask);
 }
 
+    @Operation(
+            summary = "Update status of many tasks",
+            description = "Moves up to " + BulkTaskStatusRequest.MAX_TASKS + " of the current user's tasks to one status with a single update. "
+                    + "IDs of tasks created by other users or of missing tasks are skipped and not counted as updated.",
+            security = @SecurityRequirement(name = "JWT"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Statuses updated; the response holds the affected count"),
+                    @ApiResponse(responseCode = "400", description = "Validation failed"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized (authentication required)")
+            }
+    )
+    @PatchMapping("/status")
+    public ResponseEntity<TaskBulkStatusResponseDto> updateTaskStatuses(
+            Principal principal,
+            @Valid @RequestBody BulkTaskStatusRequest request) {
+
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(taskService.updateTaskStatuses(request.getTaskIds(), request.getStatus(), principal.getName()));
+    }
+
        @Operation(
                summary = "Delete Task",
               description = "Delete Task by it's unique id. Access only for authorized User",
@@ -0,0 +1,19 @@
+package com.example.clanhubadv.dto.requests.family;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Request model for creating a family")
+public class CreateFamilyRequest {
+    @NotBlank(message = "Family name cannot be empty")
+    @Size(max = 100, message = "Family name must be at most 100 characters")
+    @Schema(description = "Unique family name", example = "The Smiths", required = true)
+    private String name;
+}
@@ -0,0 +1,19 @@
+package com.example.clanhubadv.dto.requests.family;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Request model for joining a family by invite code")
+public class JoinFamilyRequest {
+    @NotNull(message = "Invite code cannot be empty")
+    @Schema(description = "Invite code shared by a family member", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6", required = true)
+    private UUID inviteCode;
+}
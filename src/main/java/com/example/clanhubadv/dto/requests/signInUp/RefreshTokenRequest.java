@@ -0,0 +1,17 @@
+package com.example.clanhubadv.dto.requests.signInUp;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Request model for refreshing or revoking a refresh token")
+public class RefreshTokenRequest {
+    @NotBlank(message = "Refresh token cannot be empty")
+    @Schema(description = "Refresh token returned by sign-in or a previous refresh", example = "Qm9vZ2llV29vZ2llQm9vZ2llV29vZ2llQm9vZ2llV28", required = true)
+    private String refreshToken;
+}
@@ -0,0 +1,26 @@
+package com.example.clanhubadv.dto.requests.task;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Request model for creating many tasks at once")
+public class BatchTaskRequest {
+
+    public static final int MAX_TASKS = 500;
+
+    @ArraySchema(schema = @Schema(implementation = TaskRequest.class), maxItems = MAX_TASKS)
+    @NotEmpty(message = "At least one task is required")
+    @Size(max = MAX_TASKS, message = "At most " + MAX_TASKS + " tasks per request")
+    private List<@Valid TaskRequest> tasks;
+}
@@ -0,0 +1,32 @@
+package com.example.clanhubadv.dto.requests.task;
+
+import com.example.clanhubadv.entity.TaskStatus;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Request model for moving many tasks to one status")
+public class BulkTaskStatusRequest {
+
+    public static final int MAX_TASKS = 500;
+
+    @ArraySchema(schema = @Schema(description = "Task ID", example = "0195c6f2-7a3b-7c41-9a2e-5f1d3b8e6c20"), maxItems = MAX_TASKS)
+    @NotEmpty(message = "At least one task id is required")
+    @Size(max = MAX_TASKS, message = "At most " + MAX_TASKS + " tasks per request")
+    private List<@NotNull UUID> taskIds;
+
+    @Schema(description = "New status for all listed tasks", example = "COMPLETED")
+    @NotNull(message = "Status is required")
+    private TaskStatus status;
+}
@@ -0,0 +1,33 @@
+package com.example.clanhubadv.dto.responses.family;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Family details")
+public class FamilyResponseDto {
+
+    @Schema(description = "Family ID", example = "3fa85f64-5717-4562-b3fc-2c963f66afa6")
+    private UUID id;
+
+    @Schema(description = "Family name", example = "The Smiths")
+    private String name;
+
+    @Schema(description = "ID of the family admin", example = "5b1a8c2e-8f3d-4b6a-9c1e-2d7f4a6b8c0d")
+    private UUID adminUserId;
+
+    @Schema(description = "Code other users enter to join the family", example = "9e2f7a1c-4b3d-4e8a-b6c5-1d0f2a3b4c5d")
+    private UUID inviteCode;
+
+    @Schema(description = "When the invite code stops working, null if it never expires", example = "2025-04-01T12:00:00")
+    private LocalDateTime inviteCodeExpiresAt;
+}
@@ -19,6 +19,9 @@ public class RegisterResponseDto {
     @Schema(description = "JWT token for authentication", example = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...")
     private String token;
 
+    @Schema(description = "Opaque refresh token, exchanged for a new token pair at /api/auth/refresh", example = "Qm9vZ2llV29vZ2llQm9vZ2llV29vZ2llQm9vZ2llV28")
+    private String refreshToken;
+
     @Schema(description = "Status message", example = "User successfully registered")
     private String message;
 
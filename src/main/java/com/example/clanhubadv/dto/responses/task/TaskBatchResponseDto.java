@@ -0,0 +1,24 @@
+package com.example.clanhubadv.dto.responses.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of a batch task creation")
+public class TaskBatchResponseDto {
+
+    @Schema(description = "Number of created tasks", example = "2")
+    private int created;
+
+    @Schema(description = "IDs of the created tasks in request order")
+    private List<UUID> ids;
+}
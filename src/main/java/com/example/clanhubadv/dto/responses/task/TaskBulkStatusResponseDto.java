@@ -0,0 +1,21 @@
+package com.example.clanhubadv.dto.responses.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of a bulk status change")
+public class TaskBulkStatusResponseDto {
+
+    @Schema(description = "Number of distinct task IDs in the request", example = "7")
+    private int requested;
+
+    @Schema(description = "Number of tasks actually updated; tasks of other users and unknown IDs are skipped", example = "7")
+    private int updated;
+}
@@ -0,0 +1,33 @@
+package com.example.clanhubadv.dto.responses.task;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Page of tasks ordered by creation date (newest first) with a seek cursor for the next page")
+public class TaskKeysetPageResponseDto {
+
+    @Schema(description = "Tasks on this page")
+    private List<TaskResponseDto> tasks;
+
+    @Schema(description = "Whether another page exists after this one", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Pass as afterCreatedAt to fetch the next page")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate nextCreatedAt;
+
+    @Schema(description = "Pass as afterId to fetch the next page", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID nextId;
+}
@@ -1,8 +1,10 @@
 package com.example.clanhubadv.entity;
 
+import com.example.clanhubadv.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
@@ -13,7 +15,7 @@ import java.util.UUID;
 public class Family {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     @Column(nullable = false, unique = true, updatable = false)
     private UUID id;
 
@@ -28,4 +30,12 @@ public class Family {
     @NotNull
     @Column(name = "invite_code" ,nullable = false, unique = true)
     private UUID inviteCode;
+
+    // null - код бессрочный (семьи, созданные до появления срока действия)
+    @Column(name = "invite_code_expires_at")
+    private LocalDateTime inviteCodeExpiresAt;
+
+    public boolean isInviteCodeActive(LocalDateTime now) {
+        return inviteCodeExpiresAt == null || now.isBefore(inviteCodeExpiresAt);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.example.clanhubadv.entity;
+
+public enum OutboxEmailStatus {
+    PENDING,   // Ожидает отправки (в том числе повторной)
+    SENT,      // Отправлено
+    FAILED     // Попытки исчерпаны
+}
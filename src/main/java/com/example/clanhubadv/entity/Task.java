@@ -1,5 +1,6 @@
 package com.example.clanhubadv.entity;
 
+import com.example.clanhubadv.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -9,7 +10,15 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
-@Table(name = "task")
+@Table(name = "task", indexes = {
+        // список / страницы / seek (findTasksWithFilters и keyset): created_by + ORDER BY created_at DESC, id DESC.
+        // Остальные фильтры (семья, статус, исполнитель) проверяются по строкам автора
+        @Index(name = "idx_task_created_by_created_at", columnList = "created_by, created_at, id"),
+        // календарь: findByDueDateBetweenAndCreatedByEmail
+        @Index(name = "idx_task_created_by_due_date", columnList = "created_by, due_date"),
+        // лента семьи: findByFamilyIdOrderByDueDateAscIdAsc
+        @Index(name = "idx_task_family_due_date", columnList = "family_id, due_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,7 +26,7 @@ public class Task {
 
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false)
@@ -36,7 +45,7 @@ public class Task {
     private boolean completed;
 
     @Enumerated(EnumType.STRING)
-    @Column(name = "status")
+    @Column(name = "status", columnDefinition = "varchar(32)")
     private TaskStatus status;
 
     @ManyToOne
@@ -1,5 +1,6 @@
 package com.example.clanhubadv.entity;
 
+import com.example.clanhubadv.entity.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -13,7 +14,7 @@ import java.util.UUID;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column (nullable = false)
@@ -43,4 +44,8 @@ public class User {
     @Column(name = "age")
     private Integer age;
 
+    // Увеличивается при смене пароля - JWT со старой версией больше не принимаются
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.example.clanhubadv.repository;
+
+import com.example.clanhubadv.entity.Family;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface FamilyRepository extends JpaRepository<Family, UUID> {
+
+    Optional<Family> findByInviteCode(UUID inviteCode);
+
+    boolean existsByName(String name);
+
+    @Query("SELECT f FROM Family f WHERE f.inviteCodeExpiresAt IS NULL OR f.inviteCodeExpiresAt > :now")
+    List<Family> findWithActiveInviteCode(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,36 @@
+package com.example.clanhubadv.repository;
+
+import com.example.clanhubadv.entity.OutboxEmail;
+import com.example.clanhubadv.entity.OutboxEmailStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+    // FOR UPDATE SKIP LOCKED (-2): несколько инстансов не заберут одну и ту же пачку
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEmail e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<OutboxEmail> findDueForDispatch(@Param("status") OutboxEmailStatus status,
+                                         @Param("now") LocalDateTime now,
+                                         Pageable limit);
+
+    long countByStatus(OutboxEmailStatus status);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEmail e WHERE e.status = :status AND e.createdAt < :before")
+    int deleteByStatusAndCreatedAtBefore(@Param("status") OutboxEmailStatus status,
+                                         @Param("before") LocalDateTime before);
+}
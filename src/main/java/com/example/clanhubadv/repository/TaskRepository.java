@@ -3,20 +3,29 @@ package com.example.clanhubadv.repository;
 import com.example.clanhubadv.entity.Task;
 import com.example.clanhubadv.entity.TaskStatus;
 import com.example.clanhubadv.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, UUID> {
 
+    int STREAM_FETCH_SIZE = 500;
+
 //    Page<Task> findByAssignedTo(User user, Pageable pageable);
 //
 //    Page<Task> findByFamilyId(UUID familyId, Pageable pageable);
@@ -25,13 +34,58 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
   
     List<Task> findByDueDateBetweenAndCreatedBy(LocalDate startDate, LocalDate endDate, User createdBy);
 
+    // Авторы, исполнители и их роли подтягиваются тем же select-ом (EntityGraph),
+    // поэтому список задач любого размера - один запрос без N+1 по пользователям
+    @EntityGraph(attributePaths = {"createdBy", "createdBy.role", "assignedTo", "assignedTo.role"})
+    List<Task> findByCreatedByEmail(String email);
+
+    @EntityGraph(attributePaths = {"createdBy", "createdBy.role", "assignedTo", "assignedTo.role"})
+    List<Task> findByDueDateBetweenAndCreatedByEmail(LocalDate startDate, LocalDate endDate, String email);
+
+    // Лента семьи: задачи всех участников одним запросом по idx_task_family_due_date, уже в нужном порядке
+    @EntityGraph(attributePaths = {"createdBy", "createdBy.role", "assignedTo", "assignedTo.role"})
+    List<Task> findByFamilyIdOrderByDueDateAscIdAsc(UUID familyId);
+
+    // При вступлении в семью задачи, созданные до этого, попадают в её ленту
+    @Modifying
+    @Query("UPDATE Task t SET t.familyId = :familyId WHERE t.createdBy.id = :userId AND t.familyId IS NULL")
+    int assignFamilyToTasksOf(@Param("userId") UUID userId, @Param("familyId") UUID familyId);
+
+    // Массовая смена статуса одним UPDATE по правилам Task.setStatus: completed = (status == COMPLETED),
+    // completionDate ставится только при завершении. Чужие задачи отсекает условие на автора
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.completed = false "
+            + "WHERE t.id IN :ids AND t.createdBy.id = :userId")
+    int updateStatusOfOwnTasks(@Param("ids") Collection<UUID> ids,
+                               @Param("userId") UUID userId,
+                               @Param("status") TaskStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = com.example.clanhubadv.entity.TaskStatus.COMPLETED, "
+            + "t.completed = true, t.completionDate = :completionDate "
+            + "WHERE t.id IN :ids AND t.createdBy.id = :userId")
+    int completeOwnTasks(@Param("ids") Collection<UUID> ids,
+                         @Param("userId") UUID userId,
+                         @Param("completionDate") LocalDate completionDate);
+
+    // Для потоковой выдачи. Обычный положительный fetch size: с useCursorFetch=true в spring.datasource.url
+    // MySQL Connector/J читает строки серверным курсором порциями по STREAM_FETCH_SIZE, не загружая весь
+    // ResultSet в память; остальные драйверы (H2 в тестах) принимают его как обычную подсказку.
+    // Вызывать только внутри транзакции и закрывать Stream после использования.
+    @EntityGraph(attributePaths = {"createdBy", "createdBy.role", "assignedTo", "assignedTo.role"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    Stream<Task> streamByCreatedByEmail(String email);
+
+    @EntityGraph(attributePaths = {"createdBy", "createdBy.role", "assignedTo", "assignedTo.role"})
     @Query("SELECT t FROM Task t WHERE " +
+            "t.createdBy.id = :ownerId AND " +
             "(:familyId IS NULL OR t.familyId = :familyId) AND " +
             "(:completed IS NULL OR t.completed = :completed) AND " +
             "(:status IS NULL OR t.status = :status) AND " +
             "(:userId IS NULL OR t.assignedTo.id = :userId) AND " +
             "(:priority IS NULL OR t.priority = :priority)")
     Page<Task> findTasksWithFilters(
+            @Param("ownerId") UUID ownerId,
             @Param("familyId") UUID familyId,
             @Param("completed") Boolean completed,
             @Param("status") TaskStatus status,
@@ -39,6 +93,50 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
             @Param("priority") Integer priority,
             Pageable pageable);
 
+    // Keyset (seek) пагинация по (createdAt, id): страница начинается сразу после последней
+    // строки предыдущей, без OFFSET, поэтому глубокие страницы не сканируют отброшенные строки.
+    // Лимит передаётся через Pageable без сортировки - порядок задан в самом запросе.
+    @EntityGraph(attributePaths = {"createdBy", "createdBy.role", "assignedTo", "assignedTo.role"})
+    @Query("SELECT t FROM Task t WHERE " +
+            "t.createdBy.id = :ownerId AND " +
+            "(:familyId IS NULL OR t.familyId = :familyId) AND " +
+            "(:completed IS NULL OR t.completed = :completed) AND " +
+            "(:status IS NULL OR t.status = :status) AND " +
+            "(:userId IS NULL OR t.assignedTo.id = :userId) AND " +
+            "(:priority IS NULL OR t.priority = :priority) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Task> findFirstTasksWithFilters(
+            @Param("ownerId") UUID ownerId,
+            @Param("familyId") UUID familyId,
+            @Param("completed") Boolean completed,
+            @Param("status") TaskStatus status,
+            @Param("userId") UUID userId,
+            @Param("priority") Integer priority,
+            Pageable limit);
+
+    // (createdAt, id) < (afterCreatedAt, afterId), записанное так, чтобы createdAt <= :afterCreatedAt
+    // стал диапазоном по idx_task_created_by_created_at, а не фильтром по всем задачам автора
+    @EntityGraph(attributePaths = {"createdBy", "createdBy.role", "assignedTo", "assignedTo.role"})
+    @Query("SELECT t FROM Task t WHERE " +
+            "t.createdBy.id = :ownerId AND " +
+            "t.createdAt <= :afterCreatedAt AND (t.createdAt < :afterCreatedAt OR t.id < :afterId) AND " +
+            "(:familyId IS NULL OR t.familyId = :familyId) AND " +
+            "(:completed IS NULL OR t.completed = :completed) AND " +
+            "(:status IS NULL OR t.status = :status) AND " +
+            "(:userId IS NULL OR t.assignedTo.id = :userId) AND " +
+            "(:priority IS NULL OR t.priority = :priority) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Task> findNextTasksWithFilters(
+            @Param("ownerId") UUID ownerId,
+            @Param("afterCreatedAt") LocalDate afterCreatedAt,
+            @Param("afterId") UUID afterId,
+            @Param("familyId") UUID familyId,
+            @Param("completed") Boolean completed,
+            @Param("status") TaskStatus status,
+            @Param("userId") UUID userId,
+            @Param("priority") Integer priority,
+            Pageable limit);
+
 //     @Query("SELECT t FROM Task t WHERE t.createdBy = :user AND " +
 //             "((t.status != 'COMPLETED' AND t.dueDate BETWEEN :startDate AND :endDate) OR " +
 //             "(t.status = 'COMPLETED' AND t.completionDate BETWEEN :startDate AND :endDate))")
@@ -0,0 +1,22 @@
+package com.example.clanhubadv.repository;
+
+import com.example.clanhubadv.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, UUID> {
+
+    List<TokenRevocation> findByRevokedAtAfter(LocalDateTime after);
+
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.revokedAt < :before")
+    int deleteRevokedBefore(@Param("before") LocalDateTime before);
+}
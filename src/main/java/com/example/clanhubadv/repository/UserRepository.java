@@ -2,6 +2,7 @@ package com.example.clanhubadv.repository;
 
 import com.example.clanhubadv.entity.Role;
 import com.example.clanhubadv.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -22,4 +23,8 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     List<User> findByRole(Role role);
 
     boolean existsByEmail(String email);
+
+    // Пользователь вместе с ролью одним SELECT с join - для входа
+    @EntityGraph(attributePaths = "role")
+    Optional<User> findWithRoleByEmail(String email);
 }
@@ -1,15 +1,19 @@
 package com.example.clanhubadv.service;
 
+import com.example.clanhubadv.service.email.EmailOutbox;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class EmailService {
-    private final JavaMailSender mailSender;
+    // Письма уходят через email_outbox, запрос не ждёт SMTP
+    private final EmailOutbox emailOutbox;
+    private final MeterRegistry meterRegistry;
 
     @Value("${spring.mail.username}")
     private String fromEmail;
@@ -22,7 +26,7 @@ public class EmailService {
         message.setText("Your password reset code is: " + code +
                 "\n\nThis code will expire in 5 minutes. If you did not request a password reset, please ignore this message.");
 
-        mailSender.send(message);
+        enqueue(message, "password_reset");
     }
 
     public void sendConfirmationEmail(String to, String username) {
@@ -35,6 +39,15 @@ public class EmailService {
                 "You can now log in using your email and password.\n\n" +
                 "Best regards,\nFamily Planner Team");
 
-        mailSender.send(message);
+        enqueue(message, "confirmation");
+    }
+
+    // Время, которое письмо стоит запросу (запись в outbox); сама отправка - таймер email.send
+    private void enqueue(SimpleMailMessage message, String type) {
+        Timer.builder("email.enqueue")
+                .description("Time spent by the request path to queue an email")
+                .tag("type", type)
+                .register(meterRegistry)
+                .record(() -> emailOutbox.enqueue(message));
     }
 }
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.example.clanhubadv.service;
+
+import com.example.clanhubadv.dto.responses.family.FamilyResponseDto;
+import com.example.clanhubadv.dto.responses.task.TaskResponseDto;
+import com.example.clanhubadv.entity.Family;
+import com.example.clanhubadv.entity.User;
+import com.example.clanhubadv.repository.FamilyRepository;
+import com.example.clanhubadv.repository.TaskRepository;
+import com.example.clanhubadv.repository.UserRepository;
+import com.example.clanhubadv.service.cache.FamilyTaskFeedCache;
+import com.example.clanhubadv.service.cache.InviteCodeResolver;
+import com.example.clanhubadv.service.converter.FamilyConverter;
+import com.example.clanhubadv.service.converter.TaskConverter;
+import com.example.clanhubadv.service.exception.AccessDeniedException;
+import com.example.clanhubadv.service.exception.AlreadyExistException;
+import com.example.clanhubadv.service.exception.ExcessAttemptLimitException;
+import com.example.clanhubadv.service.exception.NotFoundException;
+import com.example.clanhubadv.service.ratelimit.RateLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class FamilyService {
+
+    private final FamilyRepository familyRepository;
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final TaskConverter taskConverter;
+    private final FamilyConverter familyConverter;
+    private final FamilyTaskFeedCache familyTaskFeedCache;
+    private final InviteCodeResolver inviteCodeResolver;
+
+    // Перебор кодов: учитываются только неудачные попытки пользователя
+    private final RateLimiter inviteCodeAttemptLimiter;
+
+    // Срок действия новых и перевыпущенных инвайт-кодов, 0 - бессрочные
+    @Value("${family.invite-code.ttl-hours:168}")
+    private long inviteCodeTtlHours;
+
+    // Создатель становится админом и первым участником семьи
+    @Transactional
+    public FamilyResponseDto createFamily(String name, String email) {
+        User user = findUser(email);
+        if (user.getFamilyID() != null) {
+            throw new AlreadyExistException("User is already a member of a family");
+        }
+        if (familyRepository.existsByName(name)) {
+            throw new AlreadyExistException("Family with name " + name + " already exists");
+        }
+
+        Family family = new Family();
+        family.setName(name);
+        family.setAdminUserId(user.getId());
+        issueInviteCode(family);
+        familyRepository.save(family);
+        inviteCodeResolver.register(family);
+
+        addMember(user, family.getId());
+        return familyConverter.createDtoFromFamily(family);
+    }
+
+    // Известные коды разрешаются в памяти, а новый неизвестный код резолвер проверяет по БД. Поэтому перебор
+    // ограничивается здесь: после max-failed-attempts неудач за окно пользователь получает 429, не доходя
+    // ни до резолвера, ни до БД. Семья всё равно читается по id (она нужна для ответа) - заодно проверяется,
+    // что код не перевыпустили на другом инстансе.
+    @Transactional
+    public FamilyResponseDto joinByInviteCode(UUID inviteCode, String email) {
+        if (!inviteCodeAttemptLimiter.isAllowed(email)) {
+            throw new ExcessAttemptLimitException("Too many invalid invite codes, try again later");
+        }
+
+        UUID familyId = inviteCodeResolver.resolve(inviteCode)
+                .orElseThrow(() -> invalidInviteCode(email));
+
+        Family family = familyRepository.findById(familyId)
+                .filter(found -> inviteCode.equals(found.getInviteCode())
+                        && found.isInviteCodeActive(LocalDateTime.now()))
+                .orElseThrow(() -> {
+                    inviteCodeResolver.revoke(inviteCode);
+                    return invalidInviteCode(email);
+                });
+
+        User user = findUser(email);
+        if (family.getId().equals(user.getFamilyID())) {
+            return familyConverter.createDtoFromFamily(family);
+        }
+        if (user.getFamilyID() != null) {
+            throw new AlreadyExistException("User is already a member of another family");
+        }
+
+        addMember(user, family.getId());
+        return familyConverter.createDtoFromFamily(family);
+    }
+
+    // Старый код перестаёт действовать сразу, новый получает полный срок
+    @Transactional
+    public FamilyResponseDto rotateInviteCode(String email) {
+        User user = findUser(email);
+        Family family = familyRepository.findById(requireFamilyId(user))
+                .orElseThrow(() -> new NotFoundException("Family not found"));
+        if (!user.getId().equals(family.getAdminUserId())) {
+            throw new AccessDeniedException("Only the family admin can rotate the invite code");
+        }
+
+        UUID previousCode = family.getInviteCode();
+        issueInviteCode(family);
+        familyRepository.save(family);
+        inviteCodeResolver.revoke(previousCode);
+        inviteCodeResolver.register(family);
+        return familyConverter.createDtoFromFamily(family);
+    }
+
+    public FamilyResponseDto getFamily(String email) {
+        return familyConverter.createDtoFromFamily(
+                familyRepository.findById(requireFamilyId(findUser(email)))
+                        .orElseThrow(() -> new NotFoundException("Family not found")));
+    }
+
+    // Лента задач всех участников: один запрос по task.family_id вместо /api/tasks/list на каждого,
+    // результат общий для всей семьи до следующей записи задачи
+    @Transactional(readOnly = true)
+    public List<TaskResponseDto> getFamilyTasks(String email) {
+        UUID familyId = requireFamilyId(findUser(email));
+        return familyTaskFeedCache.get(familyId,
+                id -> taskConverter.convertTasksToDto(taskRepository.findByFamilyIdOrderByDueDateAscIdAsc(id)));
+    }
+
+    private void issueInviteCode(Family family) {
+        family.setInviteCode(UUID.randomUUID());
+        family.setInviteCodeExpiresAt(inviteCodeTtlHours > 0 ? LocalDateTime.now().plusHours(inviteCodeTtlHours) : null);
+    }
+
+    private void addMember(User user, UUID familyId) {
+        user.setFamilyID(familyId);
+        userRepository.save(user);
+        taskRepository.assignFamilyToTasksOf(user.getId(), familyId);
+        familyTaskFeedCache.evict(familyId);
+    }
+
+    private UUID requireFamilyId(User user) {
+        if (user.getFamilyID() == null) {
+            throw new NotFoundException("User is not a member of any family");
+        }
+        return user.getFamilyID();
+    }
+
+    private NotFoundException invalidInviteCode(String email) {
+        inviteCodeAttemptLimiter.record(email);
+        return new NotFoundException("Family with this invite code not found");
+    }
+
+    private User findUser(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.clanhubadv.service;
 
+import com.example.clanhubadv.Security.JWT.TokenRevocationList;
 import com.example.clanhubadv.entity.PasswordResetToken;
 import com.example.clanhubadv.entity.User;
 import com.example.clanhubadv.repository.PasswordResetTokenRepository;
 import com.example.clanhubadv.repository.UserRepository;
+import com.example.clanhubadv.service.cache.UserDetailsCache;
 import com.example.clanhubadv.service.exception.ExpiredTokenException;
 import com.example.clanhubadv.service.exception.InvalidTokenException;
 import com.example.clanhubadv.service.exception.NotFoundException;
@@ -11,6 +13,7 @@ import com.example.clanhubadv.service.exception.ValidationException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,11 +27,16 @@ public class PasswordResetService {
     private final PasswordResetTokenRepository resetTokenRepository;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final UserDetailsCache userDetailsCache;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationList tokenRevocationList;
 
     // Token expiration time in minutes - 5 minutes as per requirements
     private static final int TOKEN_EXPIRATION_MINUTES = 5;
 
 
+    // Код сброса и письмо с ним сохраняются в одной транзакции
+    @Transactional
     public void sendResetToken(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new NotFoundException("User with email " + email + " not found"));
@@ -75,7 +83,12 @@ public class PasswordResetService {
         // Update user's password
         User user = resetToken.getUser();
         user.setPassword(passwordEncoder.encode(newPassword));
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        userDetailsCache.evict(user.getEmail());
+        // Сессии, открытые со старым паролем, больше не обновляются, а их access-токены не принимаются
+        refreshTokenService.revokeAll(user.getId());
+        tokenRevocationList.revokeAll(user.getId());
 
         // Mark token as used by expiring it
         resetToken.setExpiryDate(LocalDateTime.now().minusMinutes(1));
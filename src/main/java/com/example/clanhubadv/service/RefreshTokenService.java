@@ -0,0 +1,171 @@
+package com.example.clanhubadv.service;
+
+import com.example.clanhubadv.Security.JWT.JwtCore;
+import com.example.clanhubadv.Security.JWT.TokenRevocationList;
+import com.example.clanhubadv.Security.JWT.UserDetailImpl;
+import com.example.clanhubadv.dto.responses.signInUp.AuthResponseDto;
+import com.example.clanhubadv.entity.RefreshToken;
+import com.example.clanhubadv.entity.User;
+import com.example.clanhubadv.repository.RefreshTokenRepository;
+import com.example.clanhubadv.repository.UserRepository;
+import com.example.clanhubadv.service.converter.UserConverter;
+import com.example.clanhubadv.service.exception.InvalidRefreshTokenException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+// Ротируемые refresh-токены. Access-токен живёт недолго, а за новым клиент приходит сюда:
+// вместо BCrypt - SHA-256 и поиск по уникальному индексу. Каждый токен одноразовый,
+// при обновлении выдаётся следующий из той же серии. Повторное предъявление уже использованного
+// токена считается утечкой - отзывается вся серия.
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtCore jwtCore;
+    private final TokenRevocationList tokenRevocationList;
+    private final UserConverter userConverter;
+    private final long lifetimeMillis;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final Counter refreshed;
+    private final Counter rejected;
+    private final Counter reused;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               JwtCore jwtCore,
+                               TokenRevocationList tokenRevocationList,
+                               UserConverter userConverter,
+                               MeterRegistry meterRegistry,
+                               @Value("${jwt.refresh.lifetime-ms:1209600000}") long lifetimeMillis) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.jwtCore = jwtCore;
+        this.tokenRevocationList = tokenRevocationList;
+        this.userConverter = userConverter;
+        this.lifetimeMillis = lifetimeMillis;
+        this.refreshed = meterRegistry.counter("auth.refresh", "outcome", "refreshed");
+        this.rejected = meterRegistry.counter("auth.refresh", "outcome", "rejected");
+        this.reused = meterRegistry.counter("auth.refresh", "outcome", "reused");
+    }
+
+    // Новая серия - после входа по паролю
+    @Transactional
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID());
+    }
+
+    // Новая серия - сразу после регистрации. Пользователь только что сохранён,
+    // для внешнего ключа хватает ссылки по id без повторного select
+    @Transactional
+    public String issue(UUID userId) {
+        return issue(userRepository.getReferenceById(userId), UUID.randomUUID());
+    }
+
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public AuthResponseDto refresh(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findWithUserByTokenHash(hash(rawToken))
+                .orElseThrow(() -> reject("Invalid refresh token"));
+
+        if (current.isRevoked()) {
+            throw revokeSeries(current);
+        }
+        if (current.isExpired()) {
+            throw reject("Refresh token has expired");
+        }
+        if (refreshTokenRepository.revokeIfActive(current.getId()) == 0) {
+            // Параллельный запрос уже обменял этот токен
+            throw revokeSeries(current);
+        }
+
+        User user = current.getUser();
+        String nextToken = issue(user, current.getSeriesId());
+        refreshed.increment();
+
+        return AuthResponseDto.builder()
+                .token(jwtCore.createToken(UserDetailImpl.build(user)))
+                .refreshToken(nextToken)
+                .user(userConverter.createDtoFromUser(user))
+                .email(user.getEmail())
+                .message("Token refreshed")
+                .build();
+    }
+
+    // Выход: отзывается вся серия и текущие access-токены пользователя.
+    // Другие устройства при следующем запросе получат 401 и просто обновят токен своей серией.
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findWithUserByTokenHash(hash(rawToken)).ifPresent(token -> {
+            refreshTokenRepository.revokeSeries(token.getSeriesId());
+            tokenRevocationList.revokeAll(token.getUser().getId());
+        });
+    }
+
+    // Смена пароля / удаление - все сессии пользователя
+    @Transactional
+    public void revokeAll(UUID userId) {
+        refreshTokenRepository.revokeAllByUserId(userId);
+    }
+
+    @Scheduled(cron = "${jwt.refresh.purge-cron:0 0 4 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int removed = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (removed > 0) {
+            log.info("Removed {} expired refresh tokens", removed);
+        }
+    }
+
+    private String issue(User user, UUID seriesId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setUser(user);
+        token.setSeriesId(seriesId);
+        token.setExpiresAt(LocalDateTime.now().plusNanos(lifetimeMillis * 1_000_000));
+        token.setRevoked(false);
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    private InvalidRefreshTokenException revokeSeries(RefreshToken token) {
+        refreshTokenRepository.revokeSeries(token.getSeriesId());
+        reused.increment();
+        log.warn("Refresh token reuse detected for user {}, series {} revoked",
+                token.getUser().getId(), token.getSeriesId());
+        return new InvalidRefreshTokenException("Refresh token has been revoked");
+    }
+
+    private InvalidRefreshTokenException reject(String message) {
+        rejected.increment();
+        return new InvalidRefreshTokenException(message);
+    }
+
+    static byte[] hash(String rawToken) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
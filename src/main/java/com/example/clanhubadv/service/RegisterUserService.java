@@ -5,14 +5,16 @@ import com.example.clanhubadv.dto.requests.signInUp.RegistrationRequest;
 import com.example.clanhubadv.dto.requests.UpdateProfileRequest;
 import com.example.clanhubadv.dto.responses.UserResponseDto;
 import com.example.clanhubadv.entity.User;
-import com.example.clanhubadv.entity.UserRegistrationLog;
-import com.example.clanhubadv.repository.UserRegistrationLogRepository;
 import com.example.clanhubadv.repository.UserRepository;
+import com.example.clanhubadv.service.cache.FamilyTaskFeedCache;
+import com.example.clanhubadv.service.cache.UserDetailsCache;
 import com.example.clanhubadv.service.converter.UserConverter;
 import com.example.clanhubadv.service.exception.AlreadyExistException;
 import com.example.clanhubadv.service.exception.ExcessRegistrationLimitException;
 import com.example.clanhubadv.service.exception.NotFoundException;
 import com.example.clanhubadv.service.exception.UserAlreadyExistException;
+import com.example.clanhubadv.service.ratelimit.RateLimiter;
+import com.example.clanhubadv.service.ratelimit.RegistrationAuditLog;
 import com.example.clanhubadv.service.validation.ValidationService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -29,22 +31,25 @@ public class RegisterUserService {
     private final UserConverter converter;
     private final ValidationService validation;
 
-
-    private final UserRegistrationLogRepository logRepository;
+    // Лимит регистраций с одного IP считается в памяти, журнал в БД - только аудит
+    private final RateLimiter registrationRateLimiter;
+    private final RegistrationAuditLog registrationAuditLog;
 
     private final IpAddressUtil ipAddressUtil;
-    private static final int MAX_REGISTRATIONS = 25;
-    private static final int TIME_LIMIT_MINUTES = 5;
-    private final EmailService emailService;
+    private final UserRegistrationStore userRegistrationStore;
+    private final UserDetailsCache userDetailsCache;
+    private final FamilyTaskFeedCache familyTaskFeedCache;
 
 
+    // Без общей транзакции: хеширование пароля в createUserFromDto идёт до неё, а пользователь и письмо
+    // в email_outbox сохраняются вместе в короткой транзакции UserRegistrationStore.save
     public UserResponseDto createNewUser(RegistrationRequest request, HttpServletRequest httpRequest) {
 
         String ip = ipAddressUtil.getClientIp(httpRequest);
-        LocalDateTime timeLimit = LocalDateTime.now().minusMinutes(TIME_LIMIT_MINUTES);
 
-        long recentRegistrations = logRepository.countRecentRegistrations(ip, timeLimit);
-        if (recentRegistrations >= MAX_REGISTRATIONS) {
+        // Как и раньше с журналом в БД, в лимит идут только состоявшиеся регистрации:
+        // здесь проверка без учёта, учёт - после сохранения пользователя
+        if (!registrationRateLimiter.isAllowed(ip)) {
             throw new ExcessRegistrationLimitException("Maximum number of registrations reached, try again later");
         }
 
@@ -52,10 +57,10 @@ public class RegisterUserService {
             throw new UserAlreadyExistException("User with email " + request.getEmail() + " already exists");
         }
         User newUser = converter.createUserFromDto(request);
-        User savedUser = userRepository.save(newUser);
+        User savedUser = userRegistrationStore.save(newUser);
+        registrationRateLimiter.record(ip);
 
-        logRepository.save(new UserRegistrationLog(ip, LocalDateTime.now()));
-        emailService.sendConfirmationEmail(newUser.getEmail(), newUser.getUsername());
+        registrationAuditLog.record(ip, LocalDateTime.now());
 
         return converter.createDtoFromUser(savedUser);
     }
@@ -85,6 +90,9 @@ public class RegisterUserService {
         }
 
         User updatedUser = userRepository.save(user);
+        userDetailsCache.evict(currentEmail);
+        // Имя и аватар участника входят в ленту задач семьи
+        familyTaskFeedCache.evict(updatedUser.getFamilyID());
 
         return converter.createDtoFromUser(updatedUser);
     }
@@ -0,0 +1,62 @@
+package com.example.clanhubadv.service;
+
+import com.example.clanhubadv.Security.JWT.JwtCore;
+import com.example.clanhubadv.Security.JWT.UserDetailImpl;
+import com.example.clanhubadv.dto.requests.signInUp.LoginRequest;
+import com.example.clanhubadv.dto.responses.signInUp.AuthResponseDto;
+import com.example.clanhubadv.entity.User;
+import com.example.clanhubadv.repository.UserRepository;
+import com.example.clanhubadv.service.cache.UserDetailsCache;
+import com.example.clanhubadv.service.converter.UserConverter;
+import com.example.clanhubadv.service.exception.NonExistingEmailException;
+import com.example.clanhubadv.service.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+// Вход по email и паролю. Пользователь читается из базы один раз (вместе с ролью),
+// и эта же сущность используется для проверки пароля, выпуска токена и ответа.
+// Метод намеренно не транзакционный: проверка BCrypt (вместе с ожиданием слота в пуле хеширования)
+// идёт без открытой транзакции и без занятого соединения Hikari. Короткие транзакции открываются
+// только на чтение пользователя, сохранение обновлённого хеша и запись refresh-токена.
+@Service
+@RequiredArgsConstructor
+public class SignInService {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtCore jwtCore;
+    private final UserConverter userConverter;
+    private final UserDetailsCache userDetailsCache;
+    private final RefreshTokenService refreshTokenService;
+
+    public AuthResponseDto signIn(LoginRequest request) {
+        User user = userRepository.findWithRoleByEmail(request.getEmail())
+                .orElseThrow(() -> new NonExistingEmailException("Email not found"));
+
+        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+            throw new ValidationException("Invalid email or password");
+        }
+        upgradePasswordHashIfNeeded(user, request.getPassword());
+
+        return AuthResponseDto.builder()
+                .token(jwtCore.createToken(UserDetailImpl.build(user)))
+                .refreshToken(refreshTokenService.issue(user))
+                .user(userConverter.createDtoFromUser(user))
+                .email(user.getEmail())
+                .message("Login successful")
+                .build();
+    }
+
+    // Устаревший хеш (другой cost / без префикса) перешифровывается после успешного входа.
+    // Пароль тот же, поэтому tokenVersion не меняется. Новый хеш считается до обращения к базе,
+    // save - отдельная короткая транзакция.
+    private void upgradePasswordHashIfNeeded(User user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        user.setPassword(passwordEncoder.encode(rawPassword));
+        userRepository.save(user);
+        userDetailsCache.evict(user.getEmail());
+    }
+}
@@ -2,6 +2,10 @@ package com.example.clanhubadv.service;
 
 import com.example.clanhubadv.dto.requests.task.TaskRequest;
 import com.example.clanhubadv.dto.requests.task.UpdateTaskDetailsRequest;
+import com.example.clanhubadv.dto.responses.UserResponseDto;
+import com.example.clanhubadv.dto.responses.task.TaskBatchResponseDto;
+import com.example.clanhubadv.dto.responses.task.TaskBulkStatusResponseDto;
+import com.example.clanhubadv.dto.responses.task.TaskKeysetPageResponseDto;
 import com.example.clanhubadv.dto.responses.task.TaskResponseDto;
 import com.example.clanhubadv.dto.responses.task.TaskResponseInCalendarDto;
 import com.example.clanhubadv.entity.Task;
@@ -9,19 +13,33 @@ import com.example.clanhubadv.entity.TaskStatus;
 import com.example.clanhubadv.entity.User;
 import com.example.clanhubadv.repository.TaskRepository;
 import com.example.clanhubadv.repository.UserRepository;
+import com.example.clanhubadv.service.cache.FamilyTaskFeedCache;
 import com.example.clanhubadv.service.converter.TaskConverter;
 
 import com.example.clanhubadv.service.exception.AccessDeniedException;
 import com.example.clanhubadv.service.exception.NotFoundException;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
 @Service
@@ -30,32 +48,98 @@ public class TaskService {
     private final TaskRepository taskRepository;
     private final TaskConverter taskConverter;
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final FamilyTaskFeedCache familyTaskFeedCache;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "dueDate", "priority", "status", "title");
+
+    public Page<TaskResponseDto> getTasks(
+            String email,
+            UUID familyId,
+            Boolean completed,
+            TaskStatus status,
+            UUID assignedTo,
+            Integer priority,
+            int page,
+            int size,
+            String sortBy,
+            String direction) {
 
-//    public Page<TaskResponseDto> getTasks(
-//            UUID familyId,
-//            Boolean completed,
-//            TaskStatus status,
-//            UUID assignedTo,
-//            Integer priority,
-//            int page,
-//            int size,
-//            String sortBy,
-//            String direction) {
-//
-//        if (sortBy == null || sortBy.isEmpty()) {
-//            sortBy = "createdAt";
-//        }
-//        Sort sort = direction != null && direction.equalsIgnoreCase("ASC")
-//                ? Sort.by(sortBy).ascending()
-//                : Sort.by(sortBy).descending();
-//
-//        Pageable pageable = PageRequest.of(page, size, sort);
-//
-//        Page<Task> taskPage = taskRepository.findTasksWithFilters(
-//                familyId, completed, status, assignedTo, priority, pageable);
-//
-//        return taskPage.map(taskConverter::convertToDto);
-//    }
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+        if (sortBy == null || sortBy.isEmpty()) {
+            sortBy = "createdAt";
+        }
+        if (!SORTABLE_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortBy);
+        }
+        Sort sort = direction != null && direction.equalsIgnoreCase("ASC")
+                ? Sort.by(sortBy).ascending()
+                : Sort.by(sortBy).descending();
+
+        Pageable pageable = PageRequest.of(page, limitPageSize(size), sort.and(Sort.by("id")));
+
+        Page<Task> taskPage = taskRepository.findTasksWithFilters(
+                user.getId(), familyId, completed, status, assignedTo, priority, pageable);
+
+        return taskPage.map(taskConverter::convertToDto);
+    }
+
+    // Seek-пагинация: следующая страница начинается после (afterCreatedAt, afterId) последней задачи предыдущей
+    public TaskKeysetPageResponseDto getTasksAfter(
+            String email,
+            LocalDate afterCreatedAt,
+            UUID afterId,
+            UUID familyId,
+            Boolean completed,
+            TaskStatus status,
+            UUID assignedTo,
+            Integer priority,
+            int size) {
+
+        if ((afterCreatedAt == null) != (afterId == null)) {
+            throw new IllegalArgumentException("afterCreatedAt and afterId must be provided together");
+        }
+
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+        int pageSize = limitPageSize(size);
+        // Берём на одну строку больше, чтобы узнать, есть ли следующая страница, без COUNT
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Task> tasks = afterCreatedAt == null
+                ? taskRepository.findFirstTasksWithFilters(
+                        user.getId(), familyId, completed, status, assignedTo, priority, limit)
+                : taskRepository.findNextTasksWithFilters(
+                        user.getId(), afterCreatedAt, afterId, familyId, completed, status, assignedTo, priority, limit);
+
+        boolean hasNext = tasks.size() > pageSize;
+        if (hasNext) {
+            tasks = tasks.subList(0, pageSize);
+        }
+
+        TaskKeysetPageResponseDto response = TaskKeysetPageResponseDto.builder()
+                .tasks(taskConverter.convertTasksToDto(tasks))
+                .hasNext(hasNext)
+                .build();
+
+        if (hasNext) {
+            Task last = tasks.get(tasks.size() - 1);
+            response.setNextCreatedAt(last.getCreatedAt());
+            response.setNextId(last.getId());
+        }
+        return response;
+    }
+
+    private int limitPageSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
 
     public TaskResponseDto getTaskById(UUID id) {
         Task task = taskRepository.findById(id)
@@ -69,6 +153,33 @@ public class TaskService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
+        Task task = buildTask(request, user);
+
+        taskRepository.save(task);
+        familyTaskFeedCache.evict(task.getFamilyId());
+    }
+
+    // Все задачи вставляются в одной транзакции. id генерируются в приложении, поэтому при flush
+    // Hibernate группирует INSERT-ы пачками по hibernate.jdbc.batch_size, а драйвер MySQL
+    // (rewriteBatchedStatements) склеивает каждую пачку в один multi-row INSERT
+    @Transactional
+    public TaskBatchResponseDto createTasks(List<TaskRequest> requests, String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+        List<Task> tasks = requests.stream()
+                .map(request -> buildTask(request, user))
+                .toList();
+        taskRepository.saveAll(tasks);
+        familyTaskFeedCache.evict(user.getFamilyID());
+
+        return TaskBatchResponseDto.builder()
+                .created(tasks.size())
+                .ids(tasks.stream().map(Task::getId).toList())
+                .build();
+    }
+
+    private Task buildTask(TaskRequest request, User user) {
         Task task = new Task();
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
@@ -76,6 +187,7 @@ public class TaskService {
         task.setAssignedTo(user);
         task.setCreatedBy(user);
         task.setPriority(request.getPriority());
+        task.setFamilyId(user.getFamilyID());
 
         // Встановлюємо статус з запиту або за замовчуванням NEW
         if (request.getStatus() != null) {
@@ -83,8 +195,7 @@ public class TaskService {
         } else {
             task.setStatus(TaskStatus.NEW);
         }
-
-        taskRepository.save(task);
+        return task;
     }
 
 
@@ -94,30 +205,61 @@ public class TaskService {
 
         task.setStatus(status);
         Task updatedTask = taskRepository.save(task);
+        familyTaskFeedCache.evict(updatedTask.getFamilyId());
 
         return taskConverter.convertToDto(updatedTask);
     }
 
 
-    public List<TaskResponseInCalendarDto> getTasksBetweenDates(LocalDate startDate, LocalDate endDate, String email) {
-
+    // Задачи не загружаются: один UPDATE, чужие и несуществующие id просто не попадают в счётчик
+    @Transactional
+    public TaskBulkStatusResponseDto updateTaskStatuses(Collection<UUID> taskIds, TaskStatus status, String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-        List<Task> taskList = taskRepository.findByDueDateBetweenAndCreatedBy(startDate, endDate, user);
+        Set<UUID> ids = new HashSet<>(taskIds);
+        int updated = status == TaskStatus.COMPLETED
+                ? taskRepository.completeOwnTasks(ids, user.getId(), LocalDate.now())
+                : taskRepository.updateStatusOfOwnTasks(ids, user.getId(), status);
+        if (updated > 0) {
+            familyTaskFeedCache.evict(user.getFamilyID());
+        }
+
+        return TaskBulkStatusResponseDto.builder()
+                .requested(ids.size())
+                .updated(updated)
+                .build();
+    }
+
+    // Один запрос: фильтр по email автора и fetch-join пользователей с ролями
+    public List<TaskResponseInCalendarDto> getTasksBetweenDates(LocalDate startDate, LocalDate endDate, String email) {
+
+        List<Task> taskList = taskRepository.findByDueDateBetweenAndCreatedByEmail(startDate, endDate, email);
 
         return taskConverter.convertTasksForCalendarToDto(taskList);
     }
 
     public List<TaskResponseDto> getTasksForUser(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-        List<Task> tasks = taskRepository.findByCreatedBy(user);
+        List<Task> tasks = taskRepository.findByCreatedByEmail(email);
 
         return taskConverter.convertTasksToDto(tasks);
     }
 
+    // Задачи отдаются по одной прямо из ResultSet: каждая конвертируется, передаётся в consumer
+    // и отсоединяется от persistence context, поэтому память не растёт с числом задач
+    @Transactional(readOnly = true)
+    public void streamTasksForUser(String email, Consumer<TaskResponseDto> consumer) {
+        Map<UUID, UserResponseDto> userDtos = new HashMap<>();
+
+        try (Stream<Task> tasks = taskRepository.streamByCreatedByEmail(email)) {
+            tasks.forEach(task -> {
+                consumer.accept(taskConverter.convertToListDto(task, userDtos));
+                entityManager.detach(task);
+            });
+        }
+    }
+
 //    public List<TaskResponseInCalendarDto> getTasksInDateRange(LocalDate startDate, LocalDate endDate, String email) {
 //        User user = userRepository.findByEmail(email)
 //                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
@@ -126,12 +268,17 @@ public class TaskService {
 //        return taskConverter.convertTasksToDto(taskList);
 //    }
 
+    // Задача читается, чтобы знать, ленту какой семьи сбросить; в одной транзакции delete её уже не перечитывает
+    @Transactional
     public void deleteTask(UUID id) {
         if (id == null) {
             throw new NotFoundException("Task not found with ID: " + id);
         }
 
-        taskRepository.deleteById(id);
+        taskRepository.findById(id).ifPresent(task -> {
+            taskRepository.delete(task);
+            familyTaskFeedCache.evict(task.getFamilyId());
+        });
     }
 
     public TaskResponseDto updateTaskDetailsById(UUID id, UpdateTaskDetailsRequest request, String email) {
@@ -157,6 +304,7 @@ public class TaskService {
 
 
         taskRepository.save(task);
+        familyTaskFeedCache.evict(task.getFamilyId());
 
         return taskConverter.convertToDto(task);
 
@@ -0,0 +1,24 @@
+package com.example.clanhubadv.service;
+
+import com.example.clanhubadv.entity.User;
+import com.example.clanhubadv.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// Транзакционная часть регистрации: пользователь и письмо в email_outbox сохраняются вместе.
+// Пароль к этому моменту уже захеширован, поэтому BCrypt не держит соединение из пула.
+@Service
+@RequiredArgsConstructor
+public class UserRegistrationStore {
+
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+
+    @Transactional
+    public User save(User newUser) {
+        User savedUser = userRepository.save(newUser);
+        emailService.sendConfirmationEmail(savedUser.getEmail(), savedUser.getUsername());
+        return savedUser;
+    }
+}
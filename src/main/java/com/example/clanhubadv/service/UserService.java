@@ -1,8 +1,10 @@
 package com.example.clanhubadv.service;
 
+import com.example.clanhubadv.Security.JWT.TokenRevocationList;
 import com.example.clanhubadv.Security.JWT.UserDetailImpl;
 import com.example.clanhubadv.entity.User;
 import com.example.clanhubadv.repository.UserRepository;
+import com.example.clanhubadv.service.cache.UserDetailsCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -12,22 +14,19 @@ import org.springframework.stereotype.Service;
 import java.util.UUID;
 
 @Service
-//Главна задача этого сервиса состоит в том, чтобы находить пользователя по email при попытке аутентификации.
-//В случае успеха - возвращает преобразованного пользователя в понятном формате для Spring Security
+//Главна задача этого сервиса состоит в том, чтобы находить пользователя по email для JwtAuthFilter.
+//В случае успеха - возвращает преобразованного пользователя в понятном формате для Spring Security.
+//Вход по паролю (и перехеширование устаревших хешей) - в SignInService
 @RequiredArgsConstructor
 public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final TokenRevocationList tokenRevocationList;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException(
-                        String.format("User with email %s not found", email)
-                ));
-
-        return UserDetailImpl.build(user);
+        return userDetailsCache.get(email, this::loadFromDatabase);
     }
 
     public void deleteUserById(UUID id){
@@ -35,5 +34,16 @@ public class UserService implements UserDetailsService {
             throw new UsernameNotFoundException("User not found");
         }
         userRepository.deleteById(id);
+        userDetailsCache.evictById(id);
+        tokenRevocationList.revokeAll(id);
+    }
+
+    private UserDetailImpl loadFromDatabase(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException(
+                        String.format("User with email %s not found", email)
+                ));
+
+        return UserDetailImpl.build(user);
     }
 }
\ No newline at end of file
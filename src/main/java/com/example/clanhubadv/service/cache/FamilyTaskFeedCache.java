@@ -0,0 +1,87 @@
+package com.example.clanhubadv.service.cache;
+
+import com.example.clanhubadv.dto.responses.task.TaskResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Кэш ленты задач семьи по family_id: все члены семьи читают одну запись.
+// Сбрасывается при любой записи задачи семьи, вступлении в семью и смене профиля участника.
+// Кэш локальный для инстанса, поэтому изменения с других инстансов видны не позже ttl.
+@Component
+public class FamilyTaskFeedCache {
+
+    private final boolean enabled;
+    private final Cache<UUID, List<TaskResponseDto>> cache;
+    private final LongAdder invalidations = new LongAdder();
+
+    public FamilyTaskFeedCache(@Value("${family-task-feed-cache.enabled:true}") boolean enabled,
+                               @Value("${family-task-feed-cache.max-size:1000}") long maxSize,
+                               @Value("${family-task-feed-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public List<TaskResponseDto> get(UUID familyId, Function<UUID, List<TaskResponseDto>> loader) {
+        if (!enabled) {
+            return loader.apply(familyId);
+        }
+        // Одна лента на всех читателей - отдаём неизменяемую копию
+        return cache.get(familyId, id -> List.copyOf(loader.apply(id)));
+    }
+
+    public void evict(UUID familyId) {
+        if (familyId == null) {
+            return;
+        }
+        invalidate(familyId);
+        // Внутри транзакции сбрасываем ещё раз после коммита, иначе параллельное чтение
+        // может закэшировать ленту без ещё не закоммиченных изменений
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(familyId);
+                }
+            });
+        }
+    }
+
+    private void invalidate(UUID familyId) {
+        cache.invalidate(familyId);
+        invalidations.increment();
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+}
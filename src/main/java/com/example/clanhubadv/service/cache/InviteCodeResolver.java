@@ -0,0 +1,119 @@
+package com.example.clanhubadv.service.cache;
+
+import com.example.clanhubadv.entity.Family;
+import com.example.clanhubadv.repository.FamilyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Активные инвайт-коды -> id семьи в памяти. Загружаются при старте и обновляются при создании семьи
+// и ротации кода, так что вступление по действующему коду не ходит в БД.
+// Промах - код мог появиться на другом инстансе - проверяется по уникальному индексу invite_code.
+// Отсутствующие коды коротко запоминаются, но это гасит только повторы одного и того же кода:
+// каждый новый угаданный код - это запрос в БД. Перебор ограничивает FamilyService (inviteCodeAttemptLimiter).
+// Ротация на другом инстансе здесь не видна, поэтому FamilyService сверяет код с семьёй перед вступлением.
+@Slf4j
+@Component
+public class InviteCodeResolver {
+
+    private final FamilyRepository familyRepository;
+    private final Map<UUID, ActiveInvite> activeInvites = new ConcurrentHashMap<>();
+    private final Cache<UUID, Boolean> unknownCodes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder databaseLookups = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public InviteCodeResolver(FamilyRepository familyRepository,
+                              @Value("${family.invite-code.negative-cache-size:100000}") long negativeCacheSize,
+                              @Value("${family.invite-code.negative-cache-ttl-seconds:30}") long negativeCacheTtlSeconds) {
+        this.familyRepository = familyRepository;
+        this.unknownCodes = Caffeine.newBuilder()
+                .maximumSize(negativeCacheSize)
+                .expireAfterWrite(Duration.ofSeconds(negativeCacheTtlSeconds))
+                .build();
+    }
+
+    @PostConstruct
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        familyRepository.findWithActiveInviteCode(now).forEach(this::register);
+        log.info("Loaded {} active invite codes", activeInvites.size());
+    }
+
+    public Optional<UUID> resolve(UUID inviteCode) {
+        LocalDateTime now = LocalDateTime.now();
+        ActiveInvite invite = activeInvites.get(inviteCode);
+        if (invite != null) {
+            if (invite.isActive(now)) {
+                hits.increment();
+                return Optional.of(invite.familyId());
+            }
+            activeInvites.remove(inviteCode, invite);
+            rejected.increment();
+            return Optional.empty();
+        }
+
+        if (unknownCodes.getIfPresent(inviteCode) != null) {
+            rejected.increment();
+            return Optional.empty();
+        }
+
+        databaseLookups.increment();
+        Optional<Family> family = familyRepository.findByInviteCode(inviteCode)
+                .filter(found -> found.isInviteCodeActive(now));
+        if (family.isEmpty()) {
+            unknownCodes.put(inviteCode, Boolean.TRUE);
+            rejected.increment();
+            return Optional.empty();
+        }
+        register(family.get());
+        return family.map(Family::getId);
+    }
+
+    public void register(Family family) {
+        unknownCodes.invalidate(family.getInviteCode());
+        activeInvites.put(family.getInviteCode(), new ActiveInvite(family.getId(), family.getInviteCodeExpiresAt()));
+    }
+
+    // Старый код после ротации или код, не совпавший с семьёй в БД
+    public void revoke(UUID inviteCode) {
+        if (inviteCode != null) {
+            activeInvites.remove(inviteCode);
+        }
+    }
+
+    public int getSize() {
+        return activeInvites.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getDatabaseLookupCount() {
+        return databaseLookups.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private record ActiveInvite(UUID familyId, LocalDateTime expiresAt) {
+
+        boolean isActive(LocalDateTime now) {
+            return expiresAt == null || now.isBefore(expiresAt);
+        }
+    }
+}
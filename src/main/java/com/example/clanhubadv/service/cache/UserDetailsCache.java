@@ -0,0 +1,74 @@
+package com.example.clanhubadv.service.cache;
+
+import com.example.clanhubadv.Security.JWT.UserDetailImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Кэш UserDetails по email перед UserService.loadUserByUsername.
+// Записи явно удаляются при смене профиля, пароля и удалении пользователя.
+@Component
+public class UserDetailsCache {
+
+    private final boolean enabled;
+    private final Cache<String, UserDetailImpl> cache;
+    private final LongAdder invalidations = new LongAdder();
+
+    public UserDetailsCache(@Value("${user-details-cache.enabled:true}") boolean enabled,
+                            @Value("${user-details-cache.max-size:10000}") long maxSize,
+                            @Value("${user-details-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public UserDetailImpl get(String email, Function<String, UserDetailImpl> loader) {
+        if (!enabled) {
+            return loader.apply(email);
+        }
+        return cache.get(email, loader);
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+            invalidations.increment();
+        }
+    }
+
+    // Удаление идёт по id, а ключ - email, поэтому просматриваем значения. Операция редкая.
+    public void evictById(UUID id) {
+        if (cache.asMap().values().removeIf(user -> id.equals(user.getId()))) {
+            invalidations.increment();
+        }
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+}
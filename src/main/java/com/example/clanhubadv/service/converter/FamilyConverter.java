@@ -0,0 +1,19 @@
+package com.example.clanhubadv.service.converter;
+
+import com.example.clanhubadv.dto.responses.family.FamilyResponseDto;
+import com.example.clanhubadv.entity.Family;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FamilyConverter {
+
+    public FamilyResponseDto createDtoFromFamily(Family family) {
+        return FamilyResponseDto.builder()
+                .id(family.getId())
+                .name(family.getName())
+                .adminUserId(family.getAdminUserId())
+                .inviteCode(family.getInviteCode())
+                .inviteCodeExpiresAt(family.getInviteCodeExpiresAt())
+                .build();
+    }
+}
@@ -1,13 +1,18 @@
 package com.example.clanhubadv.service.converter;
 
+import com.example.clanhubadv.dto.responses.UserResponseDto;
 import com.example.clanhubadv.dto.responses.task.TaskResponseDto;
 import com.example.clanhubadv.dto.responses.task.TaskResponseInCalendarDto;
 import com.example.clanhubadv.entity.Task;
+import com.example.clanhubadv.entity.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
@@ -48,7 +53,8 @@ public class TaskConverter {
             throw new NullPointerException("taskList is null");
         }
 
-        List<TaskResponseInCalendarDto> dtoList = new ArrayList<>();
+        List<TaskResponseInCalendarDto> dtoList = new ArrayList<>(taskList.size());
+        Map<UUID, UserResponseDto> userDtos = new HashMap<>();
 
         for (Task task : taskList) {
             TaskResponseInCalendarDto dto = new TaskResponseInCalendarDto();
@@ -65,10 +71,10 @@ public class TaskConverter {
 
 
             if (task.getAssignedTo() != null) {
-                dto.setAssignedTo(userConverter.createDtoFromUser(task.getAssignedTo()));
+                dto.setAssignedTo(userDto(task.getAssignedTo(), userDtos));
             }
             if (task.getCreatedBy() != null) {
-                dto.setCreatedBy(userConverter.createDtoFromUser(task.getCreatedBy()));
+                dto.setCreatedBy(userDto(task.getCreatedBy(), userDtos));
             }
 
             dtoList.add(dto);
@@ -83,32 +89,47 @@ public class TaskConverter {
             throw new NullPointerException("taskList is null");
         }
 
-        List<TaskResponseDto> dtoList = new ArrayList<>();
+        List<TaskResponseDto> dtoList = new ArrayList<>(taskList.size());
+        Map<UUID, UserResponseDto> userDtos = new HashMap<>();
 
         for (Task task : taskList) {
-            TaskResponseDto dto = new TaskResponseDto();
+            dtoList.add(convertToListDto(task, userDtos));
+        }
 
-            dto.setId(task.getId());
-            dto.setTitle(task.getTitle());
-            dto.setDescription(task.getDescription());
-            dto.setDueDate(task.getDueDate());
-            dto.setCreatedAt(task.getCreatedAt());
-            dto.setCompleted(task.isCompleted());
-//          dto.setFamilyId(task.getFamilyId());
-            dto.setPriority(task.getPriority());
-            dto.setCompletionDate(task.getCompletionDate());
+        return dtoList;
+    }
 
+    // Элемент списка /list; userDtos живёт столько же, сколько весь список (в т.ч. потоковый)
+    public TaskResponseDto convertToListDto(Task task, Map<UUID, UserResponseDto> userDtos) {
+        TaskResponseDto dto = new TaskResponseDto();
 
-            if (task.getAssignedTo() != null) {
-                dto.setAssignedTo(userConverter.createDtoFromUser(task.getAssignedTo()));
-            }
-            if (task.getCreatedBy() != null) {
-                dto.setCreatedBy(userConverter.createDtoFromUser(task.getCreatedBy()));
-            }
+        dto.setId(task.getId());
+        dto.setTitle(task.getTitle());
+        dto.setDescription(task.getDescription());
+        dto.setDueDate(task.getDueDate());
+        dto.setCreatedAt(task.getCreatedAt());
+        dto.setCompleted(task.isCompleted());
+//      dto.setFamilyId(task.getFamilyId());
+        dto.setPriority(task.getPriority());
+        dto.setCompletionDate(task.getCompletionDate());
 
-            dtoList.add(dto);
+
+        if (task.getAssignedTo() != null) {
+            dto.setAssignedTo(userDto(task.getAssignedTo(), userDtos));
+        }
+        if (task.getCreatedBy() != null) {
+            dto.setCreatedBy(userDto(task.getCreatedBy(), userDtos));
         }
 
-        return dtoList;
+        return dto;
+    }
+
+    // В пределах одного списка DTO пользователя строится один раз и переиспользуется:
+    // обычно все задачи создал и получил один и тот же человек
+    private UserResponseDto userDto(User user, Map<UUID, UserResponseDto> userDtos) {
+        if (user.getId() == null) {
+            return userConverter.createDtoFromUser(user);
+        }
+        return userDtos.computeIfAbsent(user.getId(), id -> userConverter.createDtoFromUser(user));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,291 @@
+package com.example.clanhubadv.service.email;
+
+import com.example.clanhubadv.entity.OutboxEmail;
+import com.example.clanhubadv.entity.OutboxEmailStatus;
+import com.example.clanhubadv.repository.OutboxEmailRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Исходящая очередь писем в таблице email_outbox.
+// enqueue пишет строку в транзакции вызывающего кода (вместе с пользователем / токеном сброса),
+// поэтому письмо не теряется при падении приложения. dispatchBatch забирает пачку готовых писем
+// и отправляет их одним вызовом JavaMailSender.send(MimeMessage...), т.е. по одному SMTP-соединению.
+// Транзакции короткие: пачка захватывается (next_attempt_at сдвигается на claim-timeout) и сразу коммитится,
+// SMTP идёт без блокировок строк и без соединения из пула, результат записывается второй транзакцией.
+// Если процесс упадёт между ними, письма снова станут готовыми через claim-timeout (возможен повтор).
+// Временные ошибки повторяются с экспоненциальной задержкой через next_attempt_at.
+@Slf4j
+@Component
+public class EmailOutbox {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final JavaMailSender mailSender;
+    private final OutboxEmailRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long claimTimeoutMillis;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder sendCount = new LongAdder();
+    private final LongAdder sendTimeNanos = new LongAdder();
+
+    public EmailOutbox(JavaMailSender mailSender,
+                       OutboxEmailRepository outboxRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                       @Value("${email.outbox.enabled:true}") boolean enabled,
+                       @Value("${email.outbox.batch-size:100}") int batchSize,
+                       @Value("${email.outbox.max-attempts:5}") int maxAttempts,
+                       @Value("${email.outbox.initial-backoff-ms:1000}") long initialBackoffMillis,
+                       @Value("${email.outbox.max-backoff-ms:60000}") long maxBackoffMillis,
+                       @Value("${email.outbox.claim-timeout-ms:300000}") long claimTimeoutMillis) {
+        this.mailSender = mailSender;
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.claimTimeoutMillis = claimTimeoutMillis;
+    }
+
+    // Строка сохраняется в транзакции вызывающего кода (или в своей, если её нет)
+    public void enqueue(SimpleMailMessage message) {
+        if (!enabled) {
+            sendDirectly(message);
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEmail email = new OutboxEmail();
+        email.setSender(message.getFrom());
+        email.setRecipient(String.join(",", message.getTo()));
+        email.setSubject(message.getSubject());
+        email.setBody(message.getText());
+        email.setStatus(OutboxEmailStatus.PENDING);
+        email.setAttempts(0);
+        email.setCreatedAt(now);
+        email.setNextAttemptAt(now);
+        outboxRepository.save(email);
+    }
+
+    // Без outbox письмо уходит сразу. Внутри транзакции - только после коммита и в фоне:
+    // afterCommit вызывается, пока соединение ещё не возвращено в пул, а откат не должен рассылать письма
+    private void sendDirectly(SimpleMailMessage message) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            mailSender.send(message);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                taskExecutor.execute(() -> {
+                    try {
+                        mailSender.send(message);
+                    } catch (MailException e) {
+                        log.error("Failed to send email to {}", String.join(",", message.getTo()), e);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Отправляет одну пачку готовых к отправке писем.
+     *
+     * @return количество обработанных писем (0 - очередь пуста)
+     */
+    public int dispatchBatch() {
+        List<OutboxEmail> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<MimeMessage, OutboxEmail> messages = new IdentityHashMap<>(batch.size());
+        for (OutboxEmail email : batch) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException | MailException e) {
+                markFailed(email, e);
+            }
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        MailException batchFailure = null;
+        long start = System.nanoTime();
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                batchFailure = e;
+            }
+        } catch (MailException e) {
+            // Ошибка соединения / аутентификации - не ушло ни одно письмо
+            batchFailure = e;
+        } finally {
+            batches.increment();
+            sendCount.add(messages.size());
+            sendTimeNanos.add(System.nanoTime() - start);
+        }
+
+        for (Map.Entry<MimeMessage, OutboxEmail> entry : messages.entrySet()) {
+            Exception error = batchFailure != null ? batchFailure : failures.get(entry.getKey());
+            if (error == null) {
+                markSent(entry.getValue());
+            } else if (error instanceof MailParseException || error instanceof MailPreparationException) {
+                // Некорректное письмо повтор не исправит
+                markFailed(entry.getValue(), error);
+            } else {
+                retryOrFail(entry.getValue(), error);
+            }
+        }
+        // Сущности отсоединены после захвата: merge одной короткой транзакцией
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.saveAll(batch));
+        return batch.size();
+    }
+
+    // FOR UPDATE SKIP LOCKED держится только до коммита этой транзакции; дальше пачку защищает
+    // сдвинутый next_attempt_at - ни другой инстанс, ни следующий проход её не заберут
+    private List<OutboxEmail> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEmail> batch = outboxRepository.findDueForDispatch(
+                    OutboxEmailStatus.PENDING, now, PageRequest.of(0, batchSize));
+            LocalDateTime claimedUntil = now.plusNanos(claimTimeoutMillis * 1_000_000);
+            batch.forEach(email -> email.setNextAttemptAt(claimedUntil));
+            return batch;
+        });
+    }
+
+    @Transactional
+    public int purgeSentBefore(LocalDateTime before) {
+        return outboxRepository.deleteByStatusAndCreatedAtBefore(OutboxEmailStatus.SENT, before);
+    }
+
+    private MimeMessage toMimeMessage(OutboxEmail email) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "UTF-8");
+        if (email.getSender() != null) {
+            helper.setFrom(email.getSender());
+        }
+        helper.setTo(email.getRecipient().split(","));
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody());
+        return mimeMessage;
+    }
+
+    private void markSent(OutboxEmail email) {
+        email.setStatus(OutboxEmailStatus.SENT);
+        email.setAttempts(email.getAttempts() + 1);
+        email.setSentAt(LocalDateTime.now());
+        email.setLastError(null);
+        sent.increment();
+    }
+
+    private void retryOrFail(OutboxEmail email, Exception error) {
+        int attempts = email.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            log.error("Giving up on email {} to {} after {} attempts", email.getId(), email.getRecipient(), attempts, error);
+            markFailed(email, error);
+            return;
+        }
+        long delay = backoffMillis(attempts);
+        log.warn("Email {} to {} failed (attempt {}), retrying in {} ms: {}",
+                email.getId(), email.getRecipient(), attempts, delay, error.getMessage());
+        email.setAttempts(attempts);
+        email.setNextAttemptAt(LocalDateTime.now().plusNanos(delay * 1_000_000));
+        email.setLastError(truncate(error.getMessage()));
+        retried.increment();
+    }
+
+    private void markFailed(OutboxEmail email, Exception error) {
+        email.setStatus(OutboxEmailStatus.FAILED);
+        email.setAttempts(email.getAttempts() + 1);
+        email.setLastError(truncate(error.getMessage()));
+        failed.increment();
+    }
+
+    long backoffMillis(int attempt) {
+        long delay = initialBackoffMillis << Math.min(attempt - 1, 30);
+        return Math.min(delay, maxBackoffMillis);
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getQueueDepth() {
+        return outboxRepository.countByStatus(OutboxEmailStatus.PENDING);
+    }
+
+    public long getSentCount() {
+        return sent.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getRetryCount() {
+        return retried.sum();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public long getSendCount() {
+        return sendCount.sum();
+    }
+
+    public long getTotalSendTimeNanos() {
+        return sendTimeNanos.sum();
+    }
+
+    public double getAverageSendLatencyMillis() {
+        long count = sendCount.sum();
+        return count == 0 ? 0 : sendTimeNanos.sum() / 1_000_000.0 / count;
+    }
+}
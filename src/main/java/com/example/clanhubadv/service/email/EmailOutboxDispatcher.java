@@ -0,0 +1,41 @@
+package com.example.clanhubadv.service.email;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+// Периодически вычитывает email_outbox пачками, пока есть готовые к отправке письма
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailOutboxDispatcher {
+
+    private final EmailOutbox emailOutbox;
+
+    @Value("${email.outbox.sent-retention-days:7}")
+    private int sentRetentionDays;
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        try {
+            int handled;
+            do {
+                handled = emailOutbox.dispatchBatch();
+            } while (handled >= emailOutbox.getBatchSize());
+        } catch (RuntimeException e) {
+            log.error("Email outbox dispatch failed", e);
+        }
+    }
+
+    @Scheduled(cron = "${email.outbox.purge-cron:0 30 3 * * *}")
+    public void purgeSent() {
+        int removed = emailOutbox.purgeSentBefore(LocalDateTime.now().minusDays(sentRetentionDays));
+        if (removed > 0) {
+            log.info("Removed {} sent emails from outbox", removed);
+        }
+    }
+}
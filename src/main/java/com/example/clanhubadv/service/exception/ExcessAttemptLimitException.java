@@ -0,0 +1,7 @@
+package com.example.clanhubadv.service.exception;
+
+public class ExcessAttemptLimitException extends RuntimeException {
+    public ExcessAttemptLimitException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.clanhubadv.service.exception;
+
+// Refresh-токен не найден, истёк или отозван - клиент должен войти заново (401)
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
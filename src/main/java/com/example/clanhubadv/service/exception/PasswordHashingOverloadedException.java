@@ -0,0 +1,9 @@
+package com.example.clanhubadv.service.exception;
+
+// Очередь хеширования паролей переполнена - запрос отклоняется с 429.
+// Намеренно не AuthenticationException: ProviderManager должен пропустить её наружу, а не превратить в 401.
+public class PasswordHashingOverloadedException extends RuntimeException {
+    public PasswordHashingOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.clanhubadv.service.ratelimit;
+
+// Ограничитель частоты запросов по ключу (например, IP клиента)
+public interface RateLimiter {
+
+    /**
+     * Проверка без учёта запроса. Учитываются только выбранные операции (успешные регистрации,
+     * неудачные попытки кода приглашения) - через {@link #record(String)}.
+     *
+     * @return true, если ещё один запрос укладывается в лимит
+     */
+    boolean isAllowed(String key);
+
+    /**
+     * Учитывает запрос без проверки лимита.
+     */
+    void record(String key);
+}
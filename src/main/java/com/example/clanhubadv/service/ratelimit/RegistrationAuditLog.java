@@ -0,0 +1,35 @@
+package com.example.clanhubadv.service.ratelimit;
+
+import com.example.clanhubadv.entity.UserRegistrationLog;
+import com.example.clanhubadv.repository.UserRegistrationLogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+// Необязательный журнал регистраций в БД. Пишется асинхронно и в лимите регистраций не участвует.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RegistrationAuditLog {
+
+    private final UserRegistrationLogRepository logRepository;
+
+    @Value("${registration.audit-log.enabled:false}")
+    private boolean enabled;
+
+    @Async
+    public void record(String ip, LocalDateTime registrationTime) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            logRepository.save(new UserRegistrationLog(ip, registrationTime));
+        } catch (RuntimeException e) {
+            log.warn("Failed to write registration audit record for {}", ip, e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.clanhubadv.service.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+// Скользящее окно в памяти процесса: для каждого ключа хранятся отметки времени последних запросов.
+// Ключи без активности дольше окна вытесняются, общее число ключей ограничено maxKeys.
+public class SlidingWindowRateLimiter implements RateLimiter {
+
+    private final int maxRequests;
+    private final long windowMillis;
+    private final Clock clock;
+    private final Cache<String, Deque<Long>> windows;
+
+    public SlidingWindowRateLimiter(int maxRequests, Duration window, long maxKeys) {
+        this(maxRequests, window, maxKeys, Clock.systemUTC());
+    }
+
+    SlidingWindowRateLimiter(int maxRequests, Duration window, long maxKeys, Clock clock) {
+        if (maxRequests <= 0) {
+            throw new IllegalArgumentException("maxRequests must be positive");
+        }
+        this.maxRequests = maxRequests;
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window)
+                .build();
+    }
+
+    @Override
+    public boolean isAllowed(String key) {
+        Deque<Long> timestamps = windows.getIfPresent(key);
+        if (timestamps == null) {
+            return true;
+        }
+        synchronized (timestamps) {
+            evictOutdated(timestamps, clock.millis());
+            return timestamps.size() < maxRequests;
+        }
+    }
+
+    @Override
+    public void record(String key) {
+        long now = clock.millis();
+        Deque<Long> timestamps = windows.get(key, k -> new ArrayDeque<>(maxRequests));
+
+        synchronized (timestamps) {
+            evictOutdated(timestamps, now);
+            timestamps.addLast(now);
+        }
+    }
+
+    private void evictOutdated(Deque<Long> timestamps, long now) {
+        while (!timestamps.isEmpty() && timestamps.peekFirst() <= now - windowMillis) {
+            timestamps.pollFirst();
+        }
+    }
+}
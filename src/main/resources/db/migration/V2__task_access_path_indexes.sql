@@ -0,0 +1,11 @@
+-- Access paths of TaskRepository; keep in sync with @Table(indexes) on Task.
+
+-- findByDueDateBetweenAndCreatedByEmail (calendar)
+CREATE INDEX idx_task_created_by_due_date ON task (created_by, due_date);
+
+-- findByCreatedByEmail, streamByCreatedByEmail, paged and seek listing
+-- (WHERE created_by = ? ORDER BY created_at DESC, id DESC)
+CREATE INDEX idx_task_created_by_created_at ON task (created_by, created_at, id);
+
+-- findTasksWithFilters family filters
+CREATE INDEX idx_task_family_filters ON task (family_id, status, assigned_to, priority);
@@ -0,0 +1,18 @@
+CREATE TABLE email_outbox
+(
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    sender          VARCHAR(255),
+    recipient       VARCHAR(255) NOT NULL,
+    subject         VARCHAR(255) NOT NULL,
+    body            LONGTEXT     NOT NULL,
+    status          VARCHAR(16)  NOT NULL,
+    attempts        INTEGER      NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6)  NOT NULL,
+    created_at      DATETIME(6)  NOT NULL,
+    sent_at         DATETIME(6),
+    last_error      VARCHAR(500),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- Dispatcher poll: WHERE status = 'PENDING' AND next_attempt_at <= ? ORDER BY id
+CREATE INDEX idx_email_outbox_status_next_attempt ON email_outbox (status, next_attempt_at);
@@ -0,0 +1,17 @@
+CREATE TABLE refresh_token
+(
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    token_hash BINARY(32)  NOT NULL,
+    user_id    BINARY(16)  NOT NULL,
+    series_id  BINARY(16)  NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    revoked    BIT(1)      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_token_token_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_token_user FOREIGN KEY (user_id) REFERENCES `user` (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+-- Reuse detection / logout: UPDATE ... WHERE series_id = ?
+CREATE INDEX idx_refresh_token_series ON refresh_token (series_id);
+-- Nightly purge: DELETE ... WHERE expires_at < ?
+CREATE INDEX idx_refresh_token_expires_at ON refresh_token (expires_at);
@@ -0,0 +1,9 @@
+CREATE TABLE token_revocation
+(
+    user_id    BINARY(16)  NOT NULL,
+    revoked_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id)
+) ENGINE = InnoDB;
+
+-- Startup reload / sync: WHERE revoked_at > now - access token lifetime
+CREATE INDEX idx_token_revocation_revoked_at ON token_revocation (revoked_at);
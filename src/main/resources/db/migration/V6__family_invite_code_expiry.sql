@@ -0,0 +1,2 @@
+-- NULL keeps existing codes valid until the admin rotates them
+ALTER TABLE family ADD COLUMN invite_code_expires_at DATETIME(6) NULL;
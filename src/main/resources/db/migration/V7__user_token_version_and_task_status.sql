@@ -0,0 +1,5 @@
+-- Added with password-change token revocation; V1 is a no-op on existing databases, so add it here
+ALTER TABLE `user` ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
+
+-- ddl-auto=update created status as ENUM('NEW', ...); Task maps it to VARCHAR(32)
+ALTER TABLE task MODIFY status VARCHAR(32);
@@ -0,0 +1,5 @@
+-- findTasksWithFilters always filters by created_by, so it runs on the created_by indexes and
+-- idx_task_family_filters was never used. The family feed (findByFamilyIdOrderByDueDateAscIdAsc)
+-- is the only family_id access path left; give it an index that also covers its ORDER BY.
+DROP INDEX idx_task_family_filters ON task;
+CREATE INDEX idx_task_family_due_date ON task (family_id, due_date, id);
@@ -1,11 +1,15 @@
 package com.example.clanhubadv.Security.JWT;
 
 import com.example.clanhubadv.Security.JWT.JwtCore;
+import com.example.clanhubadv.entity.Role;
 import com.example.clanhubadv.service.exception.InvalidJwtException;
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.UUID;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class JwtCoreTest {
@@ -20,6 +24,7 @@ class JwtCoreTest {
         jwtCore = new JwtCore();
         ReflectionTestUtils.setField(jwtCore, "jwtSecret", testSecret);
         ReflectionTestUtils.setField(jwtCore, "jwtLifeTime", testLifeTime);
+        jwtCore.init();
     }
 
     @Test
@@ -58,6 +63,7 @@ class JwtCoreTest {
         JwtCore expiredJwtCore = new JwtCore();
         ReflectionTestUtils.setField(expiredJwtCore, "jwtSecret", testSecret);
         ReflectionTestUtils.setField(expiredJwtCore, "jwtLifeTime", -10000);
+        expiredJwtCore.init();
 
         String expiredToken = expiredJwtCore.createToken(testEmail);
 
@@ -86,4 +92,65 @@ class JwtCoreTest {
 
         assertTrue(exception instanceof RuntimeException);
     }
-}
\ No newline at end of file
+
+    @Test
+    void parseAndValidate_ShouldReturnClaimsForValidToken() {
+
+        String token = jwtCore.createToken(testEmail);
+
+        Claims claims = jwtCore.parseAndValidate(token);
+
+        assertEquals(testEmail, claims.getSubject());
+        assertNotNull(claims.getExpiration());
+    }
+
+    @Test
+    void parseAndValidate_ShouldThrowExceptionForTamperedToken() {
+
+        String token = jwtCore.createToken(testEmail);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(InvalidJwtException.class, () -> jwtCore.parseAndValidate(tampered));
+    }
+
+    @Test
+    void parseAndValidate_ShouldRejectTokenSignedWithAnotherKey() {
+
+        JwtCore otherJwtCore = new JwtCore();
+        ReflectionTestUtils.setField(otherJwtCore, "jwtSecret", "anotherSecretKeyThatIsLongEnoughForHmacSHA256");
+        ReflectionTestUtils.setField(otherJwtCore, "jwtLifeTime", testLifeTime);
+        otherJwtCore.init();
+
+        String foreignToken = otherJwtCore.createToken(testEmail);
+
+        assertThrows(InvalidJwtException.class, () -> jwtCore.parseAndValidate(foreignToken));
+    }
+
+    @Test
+    void createToken_ShouldCarryMillisecondIssueTimeMatchingIat() {
+        long before = System.currentTimeMillis();
+        Claims claims = jwtCore.parseAndValidate(jwtCore.createToken(testEmail));
+        long after = System.currentTimeMillis();
+
+        Long issuedAtMillis = claims.get(JwtCore.CLAIM_ISSUED_AT_MILLIS, Long.class);
+        assertNotNull(issuedAtMillis);
+        assertTrue(issuedAtMillis >= before && issuedAtMillis <= after);
+        assertEquals(issuedAtMillis / 1000 * 1000, claims.getIssuedAt().getTime());
+    }
+
+    @Test
+    void createToken_ForPrincipal_ShouldEmbedIdRoleAndVersion() {
+
+        UUID userId = UUID.randomUUID();
+        UserDetailImpl user = new UserDetailImpl(userId, "tester", "secret", testEmail, new Role("USER"), 3);
+
+        Claims claims = jwtCore.parseAndValidate(jwtCore.createToken(user));
+        UserDetailImpl principal = UserDetailImpl.build(claims);
+
+        assertEquals(userId, principal.getId());
+        assertEquals(testEmail, principal.getUsername());
+        assertEquals("USER", principal.getRole().getRoleName());
+        assertEquals(3, principal.getTokenVersion());
+        assertNull(principal.getPassword());
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.clanhubadv.Security.JWT;
+
+import com.example.clanhubadv.entity.TokenRevocation;
+import com.example.clanhubadv.repository.TokenRevocationRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationListTest {
+
+    private static final long LIFETIME_MILLIS = 15 * 60 * 1000;
+
+    @Mock
+    private TokenRevocationRepository revocationRepository;
+
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        revocationList = new TokenRevocationList(revocationRepository, LIFETIME_MILLIS);
+    }
+
+    @Test
+    void revokeAll_ShouldRejectTokensIssuedBeforeAndPersistCutoff() {
+        UUID userId = UUID.randomUUID();
+        Claims oldToken = claims(userId, new Date(System.currentTimeMillis() - 60_000));
+
+        revocationList.revokeAll(userId);
+
+        assertTrue(revocationList.isRevoked(oldToken));
+        verify(revocationRepository).save(any(TokenRevocation.class));
+    }
+
+    @Test
+    void isRevoked_ShouldAcceptTokensIssuedAfterRevocation() {
+        UUID userId = UUID.randomUUID();
+        revocationList.revokeAll(userId);
+
+        Claims newToken = claims(userId, new Date(System.currentTimeMillis() + 2_000));
+
+        assertFalse(revocationList.isRevoked(newToken));
+    }
+
+    @Test
+    void isRevoked_ShouldAcceptTokenIssuedRightAfterRevocationInSameSecond() {
+        UUID userId = UUID.randomUUID();
+        revocationList.revokeAll(userId);
+        ArgumentCaptor<TokenRevocation> captor = ArgumentCaptor.forClass(TokenRevocation.class);
+        verify(revocationRepository).save(captor.capture());
+        long revokedAt = captor.getValue().getRevokedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        // iat в секундах совпадает с секундой отзыва, различает только iat_ms
+        Date sameSecond = new Date(revokedAt / 1000 * 1000);
+        assertFalse(revocationList.isRevoked(claims(userId, sameSecond, revokedAt + 1)));
+        assertTrue(revocationList.isRevoked(claims(userId, sameSecond, revokedAt)));
+        assertTrue(revocationList.isRevoked(claims(userId, sameSecond, revokedAt - 1)));
+    }
+
+    @Test
+    void isRevoked_ShouldTreatLegacyTokenFromRevocationSecondAsRevoked() {
+        UUID userId = UUID.randomUUID();
+        revocationList.revokeAll(userId);
+        ArgumentCaptor<TokenRevocation> captor = ArgumentCaptor.forClass(TokenRevocation.class);
+        verify(revocationRepository).save(captor.capture());
+        long revokedAt = captor.getValue().getRevokedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        assertTrue(revocationList.isRevoked(claims(userId, new Date(revokedAt / 1000 * 1000))));
+        assertFalse(revocationList.isRevoked(claims(userId, new Date((revokedAt / 1000 + 1) * 1000))));
+    }
+
+    @Test
+    void isRevoked_ShouldIgnoreOtherUsersAndTokensWithoutUid() {
+        revocationList.revokeAll(UUID.randomUUID());
+
+        assertFalse(revocationList.isRevoked(claims(UUID.randomUUID(), new Date(0))));
+        assertFalse(revocationList.isRevoked(Jwts.claims().setSubject("old@example.com").setIssuedAt(new Date(0))));
+    }
+
+    @Test
+    void reload_ShouldRestoreRevocationsFromStorage() {
+        UUID userId = UUID.randomUUID();
+        when(revocationRepository.findByRevokedAtAfter(any()))
+                .thenReturn(List.of(new TokenRevocation(userId, LocalDateTime.now().minusMinutes(1))));
+
+        revocationList.reload();
+
+        assertEquals(1, revocationList.getSize());
+        assertTrue(revocationList.isRevoked(claims(userId, new Date(System.currentTimeMillis() - 120_000))));
+        assertFalse(revocationList.isRevoked(claims(userId, new Date(System.currentTimeMillis() + 1_000))));
+    }
+
+    @Test
+    void reload_ShouldDropEntriesOlderThanTokenLifetime() {
+        UUID userId = UUID.randomUUID();
+        when(revocationRepository.findByRevokedAtAfter(any()))
+                .thenReturn(List.of(new TokenRevocation(userId, LocalDateTime.now().minusMinutes(30))));
+
+        revocationList.reload();
+
+        assertEquals(0, revocationList.getSize());
+    }
+
+    // Токен без iat_ms - как выпущенные до его появления
+    private static Claims claims(UUID userId, Date issuedAt) {
+        Claims claims = Jwts.claims().setSubject("user@example.com").setIssuedAt(issuedAt);
+        claims.put(JwtCore.CLAIM_USER_ID, userId.toString());
+        return claims;
+    }
+
+    private static Claims claims(UUID userId, Date issuedAt, long issuedAtMillis) {
+        Claims claims = claims(userId, issuedAt);
+        claims.put(JwtCore.CLAIM_ISSUED_AT_MILLIS, issuedAtMillis);
+        return claims;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.clanhubadv.Security.JWT;
+
+import com.example.clanhubadv.service.exception.InvalidJwtException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private final String testSecret = "testSecretKeyThatIsLongEnoughForHmacSHA256Algorithm";
+    private final String testEmail = "test@example.com";
+
+    private JwtCore jwtCore;
+
+    @BeforeEach
+    void setUp() {
+        jwtCore = createJwtCore(3600000);
+    }
+
+    @Test
+    void parseAndValidate_ShouldServeRepeatedTokenFromCache() {
+
+        String token = jwtCore.createToken(testEmail);
+
+        Claims first = jwtCore.parseAndValidate(token);
+        Claims second = jwtCore.parseAndValidate(token);
+
+        assertSame(first, second);
+        VerifiedTokenCache cache = jwtCore.getVerifiedTokenCache();
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRatio());
+    }
+
+    @Test
+    void parseAndValidate_ShouldNeverServeTamperedTokenFromCache() {
+
+        String token = jwtCore.createToken(testEmail);
+        jwtCore.parseAndValidate(token);
+
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"admin@example.com\",\"exp\":9999999999}".getBytes());
+        String tampered = parts[0] + "." + forgedPayload + "." + parts[2];
+
+        assertThrows(InvalidJwtException.class, () -> jwtCore.parseAndValidate(tampered));
+        assertEquals(0, jwtCore.getVerifiedTokenCache().getHitCount());
+    }
+
+    @Test
+    void parseAndValidate_ShouldRejectExpiredTokenWithCacheEnabled() {
+
+        String expiredToken = createJwtCore(-10000).createToken(testEmail);
+
+        assertThrows(InvalidJwtException.class, () -> jwtCore.parseAndValidate(expiredToken));
+        assertEquals(0, jwtCore.getVerifiedTokenCache().getSize());
+    }
+
+    @Test
+    void get_ShouldNotReturnClaimsPastExpiration() {
+
+        VerifiedTokenCache cache = new VerifiedTokenCache(100);
+        Claims claims = Jwts.claims()
+                .setSubject(testEmail)
+                .setExpiration(new Date(System.currentTimeMillis() - 1000));
+
+        cache.put("expired.token.value", claims);
+
+        assertNull(cache.get("expired.token.value"));
+    }
+
+    @Test
+    void put_ShouldSkipClaimsWithoutExpiration() {
+
+        VerifiedTokenCache cache = new VerifiedTokenCache(100);
+        Claims claims = Jwts.claims().setSubject(testEmail);
+
+        cache.put("no.exp.token", claims);
+
+        assertNull(cache.get("no.exp.token"));
+        assertEquals(0, cache.getSize());
+    }
+
+    private JwtCore createJwtCore(long lifeTime) {
+        JwtCore core = new JwtCore();
+        ReflectionTestUtils.setField(core, "jwtSecret", testSecret);
+        ReflectionTestUtils.setField(core, "jwtLifeTime", lifeTime);
+        ReflectionTestUtils.setField(core, "verifiedCacheMaxSize", 100L);
+        core.init();
+        return core;
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.clanhubadv.Security;
 
 import com.example.clanhubadv.Security.JWT.JwtCore;
+import com.example.clanhubadv.Security.JWT.TokenRevocationList;
 import com.example.clanhubadv.Security.JWT.UserDetailImpl;
 import com.example.clanhubadv.Security.JwtAuthFilter;
 import com.example.clanhubadv.service.UserService;
+import com.example.clanhubadv.service.exception.InvalidJwtException;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,10 +18,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 class JwtAuthFilterTest {
@@ -28,6 +35,9 @@ class JwtAuthFilterTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
     @Mock
     private HttpServletRequest request;
 
@@ -40,12 +50,19 @@ class JwtAuthFilterTest {
     @Mock
     private UserDetailImpl userDetails;
 
+    @Mock
+    private Claims claims;
+
     @InjectMocks
     private JwtAuthFilter jwtAuthFilter;
 
+    private SimpleMeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(jwtAuthFilter, "meterRegistry", meterRegistry);
         SecurityContextHolder.clearContext();
     }
 
@@ -53,15 +70,17 @@ class JwtAuthFilterTest {
     void doFilterInternal_ShouldAuthenticateUser_WhenTokenIsValid() throws ServletException, IOException {
 
         when(request.getHeader("Authorization")).thenReturn("Bearer valid_token");
-        when(jwtCore.validateToken("valid_token")).thenReturn(true);
-        when(jwtCore.getUserNameFromJwt("valid_token")).thenReturn("test@example.com");
+        when(claims.getSubject()).thenReturn("test@example.com");
+        when(jwtCore.parseAndValidate("valid_token")).thenReturn(claims);
         when(userService.loadUserByUsername("test@example.com")).thenReturn(userDetails);
 
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
 
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
         assertEquals(userDetails, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verify(jwtCore, times(1)).parseAndValidate("valid_token");
         verify(filterChain).doFilter(request, response);
+        assertEquals(1, meterRegistry.get("jwt.validation").tag("outcome", "valid").timer().count());
     }
 
     @Test
@@ -80,12 +99,14 @@ class JwtAuthFilterTest {
 
         when(request.getHeader("Authorization")).thenReturn("Bearer invalid_token");
 
-        when(jwtCore.validateToken("invalid_token")).thenReturn(false);
+        when(jwtCore.parseAndValidate("invalid_token")).thenThrow(new InvalidJwtException("Invalid JWT token"));
 
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
 
         assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userService, never()).loadUserByUsername(anyString());
         verify(filterChain).doFilter(request, response);
+        assertEquals(1, meterRegistry.get("jwt.validation").tag("outcome", "invalid").timer().count());
     }
 
     @Test
@@ -98,4 +119,60 @@ class JwtAuthFilterTest {
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    @Test
+    void doFilterInternal_ShouldBuildPrincipalFromClaims_WhenStatelessModeEnabled() throws ServletException, IOException {
+
+        ReflectionTestUtils.setField(jwtAuthFilter, "statelessPrincipal", true);
+        UUID userId = UUID.randomUUID();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer valid_token");
+        when(jwtCore.parseAndValidate("valid_token")).thenReturn(claims);
+        when(claims.getSubject()).thenReturn("test@example.com");
+        when(claims.get(JwtCore.CLAIM_USER_ID)).thenReturn(userId.toString());
+        when(claims.get(JwtCore.CLAIM_USER_ID, String.class)).thenReturn(userId.toString());
+        when(claims.get(JwtCore.CLAIM_ROLE, String.class)).thenReturn("USER");
+        when(claims.get(JwtCore.CLAIM_TOKEN_VERSION, Integer.class)).thenReturn(2);
+
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+
+        UserDetailImpl principal = (UserDetailImpl) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals(userId, principal.getId());
+        assertEquals("test@example.com", principal.getUsername());
+        assertEquals("USER", principal.getRole().getRoleName());
+        assertEquals(2, principal.getTokenVersion());
+        verify(userService, never()).loadUserByUsername(anyString());
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternal_ShouldNotAuthenticateUser_WhenTokenVersionIsOutdated() throws ServletException, IOException {
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer old_token");
+        when(jwtCore.parseAndValidate("old_token")).thenReturn(claims);
+        when(claims.getSubject()).thenReturn("test@example.com");
+        when(claims.get(JwtCore.CLAIM_TOKEN_VERSION, Integer.class)).thenReturn(0);
+        when(userDetails.getTokenVersion()).thenReturn(1);
+        when(userService.loadUserByUsername("test@example.com")).thenReturn(userDetails);
+
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternal_ShouldNotAuthenticateUser_WhenTokenIsRevoked() throws ServletException, IOException {
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer revoked_token");
+        when(jwtCore.parseAndValidate("revoked_token")).thenReturn(claims);
+        when(tokenRevocationList.isRevoked(claims)).thenReturn(true);
+
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userService, never()).loadUserByUsername(anyString());
+        verify(filterChain).doFilter(request, response);
+        assertEquals(1, meterRegistry.get("jwt.validation").tag("outcome", "revoked").timer().count());
+    }
+}
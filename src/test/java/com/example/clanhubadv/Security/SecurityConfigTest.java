@@ -0,0 +1,44 @@
+package com.example.clanhubadv.Security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityConfigTest {
+
+    @Test
+    void prometheusOnManagementPort_ShouldMatchScrapeOnManagementPort() {
+        RequestMatcher matcher = SecurityConfig.prometheusOnManagementPort(8081, 8080);
+
+        assertTrue(matcher.matches(request(8081, "/actuator/prometheus")));
+    }
+
+    @Test
+    void prometheusOnManagementPort_ShouldNotMatchScrapeOnAppPort() {
+        RequestMatcher matcher = SecurityConfig.prometheusOnManagementPort(8081, 8080);
+
+        assertFalse(matcher.matches(request(8080, "/actuator/prometheus")));
+    }
+
+    @Test
+    void prometheusOnManagementPort_ShouldNotMatchOtherEndpointsOnManagementPort() {
+        RequestMatcher matcher = SecurityConfig.prometheusOnManagementPort(8081, 8080);
+
+        assertFalse(matcher.matches(request(8081, "/actuator/metrics")));
+    }
+
+    @Test
+    void prometheusOnManagementPort_ShouldNotMatch_WhenManagementSharesAppPort() {
+        assertFalse(SecurityConfig.prometheusOnManagementPort(8080, 8080).matches(request(8080, "/actuator/prometheus")));
+        assertFalse(SecurityConfig.prometheusOnManagementPort(-1, 8080).matches(request(8080, "/actuator/prometheus")));
+    }
+
+    private static MockHttpServletRequest request(int localPort, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        request.setLocalPort(localPort);
+        return request;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.clanhubadv.Security.password;
+
+import com.example.clanhubadv.service.exception.PasswordHashingOverloadedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_ShouldDelegateToBcrypt() {
+        encoder = new BoundedPasswordEncoder(delegating(4), 2, 10, 5000);
+
+        String hash = encoder.encode("Password!123");
+
+        assertTrue(hash.startsWith("{bcrypt}$2a$04$"));
+        assertTrue(encoder.matches("Password!123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+    }
+
+    @Test
+    void upgradeEncoding_ShouldRequestRehashForLegacyAndWeakerHashes() {
+        encoder = new BoundedPasswordEncoder(delegating(5), 1, 10, 5000);
+        String legacyHash = new BCryptPasswordEncoder(4).encode("Password!123");
+
+        assertTrue(encoder.matches("Password!123", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+        assertTrue(encoder.upgradeEncoding("{bcrypt}" + legacyHash));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("Password!123")));
+    }
+
+    @Test
+    void matches_ShouldShedLoad_WhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = mock(PasswordEncoder.class);
+        when(slow.matches(any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        encoder = new BoundedPasswordEncoder(slow, 1, 1, 5000);
+
+        // Один выполняется, один ждёт в очереди
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "hash"));
+        waitUntil(() -> encoder.getActiveCount() == 1);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "hash"));
+        waitUntil(() -> encoder.getQueueDepth() == 1);
+
+        assertThrows(PasswordHashingOverloadedException.class, () -> encoder.matches("c", "hash"));
+        assertEquals(1, encoder.getRejectedCount());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encode_ShouldFailFast_WhenHashingTakesLongerThanTimeout() {
+        PasswordEncoder slow = mock(PasswordEncoder.class);
+        when(slow.encode(any())).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return "hash";
+        });
+        encoder = new BoundedPasswordEncoder(slow, 1, 1, 50);
+
+        assertThrows(PasswordHashingOverloadedException.class, () -> encoder.encode("Password!123"));
+    }
+
+    private static PasswordEncoder delegating(int strength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not reached in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
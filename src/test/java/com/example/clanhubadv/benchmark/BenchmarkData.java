@@ -0,0 +1,61 @@
+package com.example.clanhubadv.benchmark;
+
+import com.example.clanhubadv.entity.Role;
+import com.example.clanhubadv.entity.Task;
+import com.example.clanhubadv.entity.TaskStatus;
+import com.example.clanhubadv.entity.User;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Детерминированные тестовые данные для бенчмарков: задачи одной семьи с небольшим набором пользователей
+final class BenchmarkData {
+
+    static final int FAMILY_SIZE = 6;
+
+    private BenchmarkData() {
+    }
+
+    static List<User> users(int count) {
+        Role role = new Role(UUID.randomUUID(), "USER");
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setId(UUID.randomUUID());
+            user.setUsername("user" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("$2a$10$abcdefghijklmnopqrstuv");
+            user.setRole(role);
+            user.setAvatarId("avatar" + (i % 5));
+            user.setAge(20 + i);
+            users.add(user);
+        }
+        return users;
+    }
+
+    static List<Task> tasks(int count) {
+        List<User> users = users(FAMILY_SIZE);
+        UUID familyId = UUID.randomUUID();
+        TaskStatus[] statuses = TaskStatus.values();
+        LocalDate today = LocalDate.of(2025, 3, 1);
+
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setId(UUID.randomUUID());
+            task.setTitle("Task " + i);
+            task.setDescription("Benchmark task number " + i + " with a short description");
+            task.setDueDate(today.plusDays(i % 60));
+            task.setCreatedAt(today.minusDays(i % 30));
+            task.setStatus(statuses[i % statuses.length]);
+            task.setFamilyId(familyId);
+            task.setPriority(i % 3);
+            task.setCreatedBy(users.get(i % FAMILY_SIZE));
+            task.setAssignedTo(users.get((i + 1) % FAMILY_SIZE));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.clanhubadv.benchmark;
+
+import com.example.clanhubadv.Security.JWT.JwtCore;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Сравнение стоимости проверки одного токена в JwtAuthFilter:
+// legacy - ключ и парсер создаются заново, подпись проверяется дважды (validateToken + getUserNameFromJwt)
+// cached - один parseAndValidate на заранее собранном парсере
+// verifiedCache - повторный токен отдаётся из VerifiedTokenCache без HMAC
+// createToken / validateToken - публичное API JwtCore как есть
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtCoreBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyThatIsLongEnoughForHmacSHA256Algorithm";
+
+    private JwtCore jwtCore;
+    private JwtCore jwtCoreWithVerifiedCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtCore = new JwtCore();
+        ReflectionTestUtils.setField(jwtCore, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtCore, "jwtLifeTime", 3600000L);
+        jwtCore.init();
+        token = jwtCore.createToken("benchmark@example.com");
+
+        jwtCoreWithVerifiedCache = new JwtCore();
+        ReflectionTestUtils.setField(jwtCoreWithVerifiedCache, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtCoreWithVerifiedCache, "jwtLifeTime", 3600000L);
+        ReflectionTestUtils.setField(jwtCoreWithVerifiedCache, "verifiedCacheMaxSize", 1000L);
+        jwtCoreWithVerifiedCache.init();
+    }
+
+    @Benchmark
+    public String legacyValidateThenExtract() {
+        Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token);
+
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+
+        return claims.getSubject();
+    }
+
+    @Benchmark
+    public String cachedParseAndValidate() {
+        return jwtCore.parseAndValidate(token).getSubject();
+    }
+
+    @Benchmark
+    public String verifiedCacheParseAndValidate() {
+        return jwtCoreWithVerifiedCache.parseAndValidate(token).getSubject();
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtCore.createToken("benchmark@example.com");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtCore.validateToken(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtCoreBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
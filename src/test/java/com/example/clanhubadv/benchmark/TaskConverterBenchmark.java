@@ -0,0 +1,37 @@
+package com.example.clanhubadv.benchmark;
+
+import com.example.clanhubadv.dto.responses.task.TaskResponseDto;
+import com.example.clanhubadv.entity.Task;
+import com.example.clanhubadv.service.converter.TaskConverter;
+import com.example.clanhubadv.service.converter.UserConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Стоимость TaskConverter.convertTasksToDto на списках разного размера
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskConverterBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int taskCount;
+
+    private TaskConverter taskConverter;
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        taskConverter = new TaskConverter(new UserConverter(null, null, null));
+        tasks = BenchmarkData.tasks(taskCount);
+    }
+
+    @Benchmark
+    public List<TaskResponseDto> convertTasksToDto() {
+        return taskConverter.convertTasksToDto(tasks);
+    }
+}
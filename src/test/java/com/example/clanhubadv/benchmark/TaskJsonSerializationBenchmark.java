@@ -0,0 +1,40 @@
+package com.example.clanhubadv.benchmark;
+
+import com.example.clanhubadv.dto.responses.task.TaskResponseDto;
+import com.example.clanhubadv.service.converter.TaskConverter;
+import com.example.clanhubadv.service.converter.UserConverter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Сериализация списка TaskResponseDto тем же ObjectMapper, что собирает Spring Boot (JavaTimeModule и т.д.)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskJsonSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int taskCount;
+
+    private ObjectMapper objectMapper;
+    private List<TaskResponseDto> dtos;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        dtos = new TaskConverter(new UserConverter(null, null, null))
+                .convertTasksToDto(BenchmarkData.tasks(taskCount));
+    }
+
+    @Benchmark
+    public byte[] writeTaskList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.clanhubadv.benchmark;
+
+import com.example.clanhubadv.dto.responses.UserResponseDto;
+import com.example.clanhubadv.entity.User;
+import com.example.clanhubadv.service.converter.UserConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserConverterBenchmark {
+
+    private UserConverter userConverter;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        userConverter = new UserConverter(null, null, null);
+        user = BenchmarkData.users(1).get(0);
+    }
+
+    @Benchmark
+    public UserResponseDto createDtoFromUser() {
+        return userConverter.createDtoFromUser(user);
+    }
+}
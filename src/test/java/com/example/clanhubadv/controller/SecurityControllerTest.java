@@ -1,15 +1,20 @@
 package com.example.clanhubadv.controller;
 
 import com.example.clanhubadv.Security.JWT.JwtCore;
+import com.example.clanhubadv.Security.JWT.UserDetailImpl;
 import com.example.clanhubadv.dto.requests.signInUp.LoginRequest;
+import com.example.clanhubadv.dto.requests.signInUp.RefreshTokenRequest;
 import com.example.clanhubadv.dto.requests.signInUp.RegistrationRequest;
 import com.example.clanhubadv.dto.responses.UserResponseDto;
+import com.example.clanhubadv.dto.responses.signInUp.AuthResponseDto;
 import com.example.clanhubadv.entity.Role;
 import com.example.clanhubadv.repository.PasswordResetTokenRepository;
 import com.example.clanhubadv.repository.UserRepository;
 import com.example.clanhubadv.service.FindUserService;
 import com.example.clanhubadv.service.PasswordResetService;
+import com.example.clanhubadv.service.RefreshTokenService;
 import com.example.clanhubadv.service.RegisterUserService;
+import com.example.clanhubadv.service.SignInService;
 import com.example.clanhubadv.service.exception.AlreadyExistException;
 import com.example.clanhubadv.service.exception.ValidationException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -21,10 +26,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -54,7 +56,10 @@ public class SecurityControllerTest {
     private RegisterUserService registerUserService;
 
     @Mock
-    private AuthenticationManager authenticationManager;
+    private SignInService signInService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
 
     @Mock
     private JwtCore jwtCore;
@@ -86,7 +91,8 @@ public class SecurityControllerTest {
         objectMapper = new ObjectMapper();
 
         securityController = new SecurityController(
-                authenticationManager,
+                signInService,
+                refreshTokenService,
                 jwtCore,
                 registerUserService,
                 findUserService,
@@ -118,21 +124,16 @@ public class SecurityControllerTest {
         userResponseDto.setUsername("Test User");
         userResponseDto.setEmail("test@example.com");
         userResponseDto.setRole(userRole);
-
-        lenient().when(findUserService.existsByEmail("test@example.com")).thenReturn(true);
-        lenient().when(findUserService.findUserByEmail("test@example.com")).thenReturn(userResponseDto);
-
-        Authentication mockAuth = mock(Authentication.class);
-        lenient().when(authenticationManager.authenticate(any())).thenReturn(mockAuth);
-
-        lenient().when(jwtCore.createToken("test@example.com")).thenReturn("mocked-jwt-token");
     }
 
     @Test
     void authenticateUser_WithValidCredentials_ReturnsToken() throws Exception {
-        when(jwtCore.createToken("test@example.com")).thenReturn("test.jwt.token");
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenReturn(mock(Authentication.class));
+        when(signInService.signIn(any(LoginRequest.class))).thenReturn(AuthResponseDto.builder()
+                .token("test.jwt.token")
+                .user(userResponseDto)
+                .email("test@example.com")
+                .message("Login successful")
+                .build());
 
         mockMvc.perform(post("/api/auth/sign-in")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -143,14 +144,14 @@ public class SecurityControllerTest {
                 .andExpect(jsonPath("$.email").value("test@example.com"))
                 .andExpect(jsonPath("$.message").value("Login successful"));
 
-        verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(jwtCore).createToken("test@example.com");
+        verify(signInService).signIn(any(LoginRequest.class));
+        verifyNoInteractions(findUserService);
     }
 
     @Test
     void authenticateUser_WithInvalidCredentials_ReturnsUnauthorized() throws Exception {
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenThrow(new BadCredentialsException("Bad credentials"));
+        when(signInService.signIn(any(LoginRequest.class)))
+                .thenThrow(new ValidationException("Invalid email or password"));
 
         LoginRequest invalidRequest = new LoginRequest("test@example.com", "WrongPassword");
 
@@ -161,6 +162,37 @@ public class SecurityControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void refreshToken_WithValidToken_ReturnsNewTokenPair() throws Exception {
+        when(refreshTokenService.refresh("old-refresh-token")).thenReturn(AuthResponseDto.builder()
+                .token("new.jwt.token")
+                .refreshToken("new-refresh-token")
+                .user(userResponseDto)
+                .email("test@example.com")
+                .message("Token refreshed")
+                .build());
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest("old-refresh-token"))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("new.jwt.token"))
+                .andExpect(jsonPath("$.refreshToken").value("new-refresh-token"));
+
+        verifyNoInteractions(signInService);
+    }
+
+    @Test
+    void logout_ShouldRevokeRefreshToken() throws Exception {
+        mockMvc.perform(post("/api/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest("refresh-token"))))
+                .andExpect(status().isNoContent());
+
+        verify(refreshTokenService).revoke("refresh-token");
+    }
+
     @Test
     void registerUser_WithValidData_ReturnsCreatedUser() throws Exception {
         HttpServletRequest mockRequest = mock(HttpServletRequest.class);
@@ -182,6 +214,24 @@ public class SecurityControllerTest {
         verify(registerUserService).createNewUser(any(RegistrationRequest.class), any(HttpServletRequest.class));
     }
 
+    @Test
+    void registerUser_ShouldReturnRefreshTokenForNewUser() throws Exception {
+        when(registerUserService.createNewUser(any(RegistrationRequest.class), any(HttpServletRequest.class)))
+                .thenReturn(userResponseDto);
+        when(jwtCore.createToken(any(UserDetailImpl.class))).thenReturn("new.jwt.token");
+        when(refreshTokenService.issue(testUserId)).thenReturn("new-refresh-token");
+
+        mockMvc.perform(post("/api/auth/sign-up")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validRegistrationRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.token").value("new.jwt.token"))
+                .andExpect(jsonPath("$.refreshToken").value("new-refresh-token"));
+
+        verify(refreshTokenService).issue(testUserId);
+        verifyNoInteractions(signInService);
+    }
+
     @Test
     void registerUser_WithExistingEmail_ReturnsBadRequest() throws Exception {
         when(registerUserService.createNewUser(any(RegistrationRequest.class), any(HttpServletRequest.class)))
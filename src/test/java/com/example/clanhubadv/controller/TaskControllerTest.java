@@ -0,0 +1,117 @@
+package com.example.clanhubadv.controller;
+
+import com.example.clanhubadv.dto.responses.task.TaskResponseDto;
+import com.example.clanhubadv.repository.TaskRepository;
+import com.example.clanhubadv.repository.UserRepository;
+import com.example.clanhubadv.service.TaskService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.security.Principal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskControllerTest {
+
+    private static final String EMAIL = "test@example.com";
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private TaskController taskController;
+    private MockMvc mockMvc;
+    private Principal principal;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        taskController = new TaskController(taskService, taskRepository, userRepository, objectMapper);
+        mockMvc = MockMvcBuilders.standaloneSetup(taskController).build();
+        principal = mock(Principal.class);
+        when(principal.getName()).thenReturn(EMAIL);
+    }
+
+    @Test
+    void streamMyTasks_ShouldWriteCompleteJsonArray() throws Exception {
+        streamTasks(3, false);
+
+        String body = mockMvc.perform(get("/api/tasks/list/stream").principal(principal))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode tasks = objectMapper.readTree(body);
+        assertTrue(tasks.isArray());
+        assertEquals(3, tasks.size());
+        assertEquals("Task 0", tasks.get(0).get("title").asText());
+        assertEquals("2025-03-01", tasks.get(0).get("dueDate").asText());
+    }
+
+    @Test
+    void streamMyTasks_ShouldWriteEmptyArray_WhenUserHasNoTasks() throws Exception {
+        streamTasks(0, false);
+
+        String body = mockMvc.perform(get("/api/tasks/list/stream").principal(principal))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(0, objectMapper.readTree(body).size());
+    }
+
+    @Test
+    void streamMyTasks_ShouldLeaveArrayUnterminated_WhenStreamFailsMidway() throws Exception {
+        // Больше буфера генератора, чтобы часть массива успела уйти в ответ до ошибки
+        streamTasks(500, true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(IllegalStateException.class, () -> taskController.streamMyTasks(principal, response));
+
+        String body = response.getContentAsString();
+        assertTrue(body.startsWith("["));
+        assertFalse(body.trim().endsWith("]"));
+        assertThrows(JsonProcessingException.class, () -> objectMapper.readTree(body));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamTasks(int count, boolean failAfterLast) {
+        doAnswer(invocation -> {
+            Consumer<TaskResponseDto> consumer = invocation.getArgument(1);
+            for (int i = 0; i < count; i++) {
+                TaskResponseDto dto = new TaskResponseDto();
+                dto.setId(UUID.randomUUID());
+                dto.setTitle("Task " + i);
+                dto.setDescription("Description of task " + i);
+                dto.setDueDate(LocalDate.of(2025, 3, 1).plusDays(i % 28));
+                consumer.accept(dto);
+            }
+            if (failAfterLast) {
+                throw new IllegalStateException("connection lost");
+            }
+            return null;
+        }).when(taskService).streamTasksForUser(eq(EMAIL), any(Consumer.class));
+    }
+}
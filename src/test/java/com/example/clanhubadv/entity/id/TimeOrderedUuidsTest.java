@@ -0,0 +1,66 @@
+package com.example.clanhubadv.entity.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidsTest {
+
+    @Test
+    void next_ShouldProduceVersion7WithRfcVariantAndCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = TimeOrderedUuids.next();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        long millis = TimeOrderedUuids.timestampMillis(uuid);
+        assertTrue(millis >= before && millis <= after + 1);
+    }
+
+    @Test
+    void next_ShouldBeStrictlyIncreasingInStoredByteOrder() {
+        byte[] previous = bytes(TimeOrderedUuids.next());
+        Set<UUID> seen = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            UUID uuid = TimeOrderedUuids.next();
+            byte[] current = bytes(uuid);
+            assertTrue(Arrays.compareUnsigned(previous, current) < 0);
+            assertTrue(seen.add(uuid));
+            previous = current;
+        }
+    }
+
+    @Test
+    void nextTimestampAndSequence_ShouldNotGoBackwards_WhenClockDoes() {
+        long now = System.currentTimeMillis() + 60_000;
+        long first = TimeOrderedUuids.nextTimestampAndSequence(now);
+        long second = TimeOrderedUuids.nextTimestampAndSequence(now - 10_000);
+
+        assertEquals(first + 1, second);
+    }
+
+    @Test
+    void fromTimestampAndSequence_ShouldCarrySequenceOverflowIntoNextMillisecond() {
+        UUID last = TimeOrderedUuids.fromTimestampAndSequence((1000L << 12) | 0xFFF, 0);
+        UUID next = TimeOrderedUuids.fromTimestampAndSequence(((1000L << 12) | 0xFFF) + 1, 0);
+
+        assertEquals(1000, TimeOrderedUuids.timestampMillis(last));
+        assertEquals(1001, TimeOrderedUuids.timestampMillis(next));
+        assertEquals(7, next.version());
+    }
+
+    // Так Hibernate кладёт UUID в BINARY(16) на MySQL
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.clanhubadv.loadtest;
+
+import com.example.clanhubadv.ClanHubAdvApplication;
+import com.example.clanhubadv.Security.JWT.JwtCore;
+import com.example.clanhubadv.Security.JWT.UserDetailImpl;
+import com.example.clanhubadv.Security.password.BoundedPasswordEncoder;
+import com.example.clanhubadv.entity.Family;
+import com.example.clanhubadv.entity.Role;
+import com.example.clanhubadv.entity.Task;
+import com.example.clanhubadv.entity.TaskStatus;
+import com.example.clanhubadv.entity.User;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Сквозной нагрузочный тест без внешних зависимостей: приложение на H2 (MySQL mode) и GreenMail вместо SMTP.
+ * Засевает families x users x tasks, гоняет смесь sign-in / создание / список / лента семьи / календарь / смена статуса
+ * (+ forgot-password, чтобы нагрузить email outbox) и печатает по каждому эндпоинту throughput,
+ * перцентили, гистограмму задержек и среднее число SQL-выражений на запрос.
+ * Отчёт также пишется в target/load-test-report.txt.
+ * Запуск: mvn -Pload-test test -Dtest=EndToEndLoadTest [-Dload.families=20 -Dload.concurrency=100 ...]
+ */
+@Tag("load")
+class EndToEndLoadTest {
+
+    private static final String PASSWORD = "Password!123";
+
+    private final int families = Integer.getInteger("load.families", 10);
+    private final int usersPerFamily = Integer.getInteger("load.users-per-family", 4);
+    private final int tasksPerUser = Integer.getInteger("load.tasks-per-user", 50);
+    private final int concurrency = Integer.getInteger("load.concurrency", 50);
+    private final Duration warmup = Duration.ofSeconds(Integer.getInteger("load.warmup-seconds", 10));
+    private final Duration duration = Duration.ofSeconds(Integer.getInteger("load.seconds", 30));
+
+    private final List<SeededUser> users = new ArrayList<>();
+
+    @Test
+    void scriptedMix() throws Exception {
+        GreenMail smtp = new GreenMail(ServerSetupTest.SMTP);
+        smtp.start();
+        try (ConfigurableApplicationContext context = start()) {
+            seed(context);
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            List<LoadGenerator.Step> mix = List.of(
+                    new LoadGenerator.Step("POST /api/auth/sign-in", 10, () -> signIn(baseUrl)),
+                    new LoadGenerator.Step("POST /api/tasks", 15, () -> createTask(baseUrl)),
+                    new LoadGenerator.Step("GET /api/tasks/list", 25, () -> listTasks(baseUrl)),
+                    new LoadGenerator.Step("GET /api/families/tasks", 10, () -> familyFeed(baseUrl)),
+                    new LoadGenerator.Step("GET /api/tasks/calendar", 25, () -> calendar(baseUrl)),
+                    new LoadGenerator.Step("PATCH /api/tasks/{id}/status", 13, () -> updateStatus(baseUrl)),
+                    new LoadGenerator.Step("POST /api/auth/forgot-password", 2, () -> forgotPassword(baseUrl)));
+
+            StatementCounter.reset();
+            List<LoadGenerator.LoadResult> results = new LoadGenerator(concurrency, warmup, duration).runMix(mix);
+
+            report(results, smtp.getReceivedMessages().length,
+                    context.getBean(BoundedPasswordEncoder.class).getOperationCount());
+        } finally {
+            smtp.stop();
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(ClanHubAdvApplication.class, LoadTestConfig.class)
+                .profiles("h2")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:e2e-load;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" + StatementCounter.class.getName(),
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.org.springframework.security=WARN",
+                        "logging.level.org.springframework.web=WARN",
+                        "email.outbox.poll-interval-ms=500")
+                .run();
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        JwtCore jwtCore = context.getBean(JwtCore.class);
+        EntityManager entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            Role role = new Role("USER");
+            entityManager.persist(role);
+
+            for (int f = 0; f < families; f++) {
+                Family family = new Family();
+                family.setName("Family " + f);
+                family.setAdminUserId(UUID.randomUUID());
+                family.setInviteCode(UUID.randomUUID());
+                entityManager.persist(family);
+
+                for (int u = 0; u < usersPerFamily; u++) {
+                    User user = new User();
+                    user.setUsername("user" + f + "_" + u);
+                    user.setEmail("user" + f + "_" + u + "@example.com");
+                    user.setPassword(passwordHash);
+                    user.setRole(role);
+                    user.setFamilyID(family.getId());
+                    entityManager.persist(user);
+                    if (u == 0) {
+                        family.setAdminUserId(user.getId());
+                    }
+
+                    List<UUID> taskIds = new ArrayList<>(tasksPerUser);
+                    for (int t = 0; t < tasksPerUser; t++) {
+                        Task task = new Task();
+                        task.setTitle("Task " + t);
+                        task.setDescription("Seeded task " + t);
+                        task.setDueDate(LocalDate.now().plusDays(t % 30));
+                        task.setPriority(t % 3);
+                        task.setFamilyId(family.getId());
+                        task.setCreatedBy(user);
+                        task.setAssignedTo(user);
+                        entityManager.persist(task);
+                        taskIds.add(task.getId());
+                    }
+                    users.add(new SeededUser(user.getEmail(), jwtCore.createToken(UserDetailImpl.build(user)), taskIds));
+                }
+                entityManager.flush();
+                entityManager.clear();
+                role = entityManager.find(Role.class, role.getId());
+            }
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private SeededUser randomUser() {
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+
+    private HttpRequest signIn(String baseUrl) {
+        return json(baseUrl + "/api/auth/sign-in", null,
+                "{\"email\":\"" + randomUser().email() + "\",\"password\":\"" + PASSWORD + "\"}").build();
+    }
+
+    private HttpRequest forgotPassword(String baseUrl) {
+        return json(baseUrl + "/api/auth/forgot-password", null,
+                "{\"email\":\"" + randomUser().email() + "\"}").build();
+    }
+
+    private HttpRequest createTask(String baseUrl) {
+        return json(baseUrl + "/api/tasks", randomUser().token(),
+                "{\"title\":\"Load task\",\"description\":\"Created under load\",\"dueDate\":\""
+                        + LocalDate.now().plusDays(ThreadLocalRandom.current().nextInt(30)) + "\",\"priority\":1}").build();
+    }
+
+    private HttpRequest listTasks(String baseUrl) {
+        return authorized(baseUrl + "/api/tasks/list", randomUser().token()).GET().build();
+    }
+
+    private HttpRequest familyFeed(String baseUrl) {
+        return authorized(baseUrl + "/api/families/tasks", randomUser().token()).GET().build();
+    }
+
+    private HttpRequest calendar(String baseUrl) {
+        LocalDate start = LocalDate.now();
+        return authorized(baseUrl + "/api/tasks/calendar?startDate=" + start + "&endDate=" + start.plusDays(7),
+                randomUser().token()).GET().build();
+    }
+
+    private HttpRequest updateStatus(String baseUrl) {
+        SeededUser user = randomUser();
+        UUID taskId = user.taskIds().get(ThreadLocalRandom.current().nextInt(user.taskIds().size()));
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskStatus status = statuses[ThreadLocalRandom.current().nextInt(statuses.length)];
+        return authorized(baseUrl + "/api/tasks/" + taskId + "/status?status=" + status, user.token())
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private HttpRequest.Builder json(String url, String token, String body) {
+        HttpRequest.Builder builder = token == null
+                ? HttpRequest.newBuilder(URI.create(url))
+                : authorized(url, token);
+        return builder.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private HttpRequest.Builder authorized(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Authorization", "Bearer " + token);
+    }
+
+    private void report(List<LoadGenerator.LoadResult> results, int mailsDelivered, long passwordHashes) throws Exception {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Seed: %d families, %d users, %d tasks; %d clients, %ds measured%n%n",
+                families, users.size(), users.size() * tasksPerUser, concurrency, duration.toSeconds()));
+        report.append(LoadGenerator.LoadResult.header()).append(String.format(" %9s%n", "SQL/req"));
+        var statements = StatementCounter.statementsPerRequest();
+        for (LoadGenerator.LoadResult result : results) {
+            report.append(result).append(String.format(" %9.2f%n", statements.getOrDefault(result.name(), 0.0)));
+        }
+        report.append('\n');
+        results.forEach(result -> report.append(result.histogramLines()).append('\n'));
+        report.append("Emails delivered to fake SMTP: ").append(mailsDelivered).append('\n');
+        // Включая seed и прогрев; sign-in по паролю - одна BCrypt-проверка, refresh - ни одной
+        report.append("BCrypt operations: ").append(passwordHashes).append('\n');
+
+        System.out.println(report);
+        Path file = Path.of("target", "load-test-report.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report, StandardCharsets.UTF_8);
+    }
+
+    private record SeededUser(String email, String token, List<UUID> taskIds) {
+    }
+}
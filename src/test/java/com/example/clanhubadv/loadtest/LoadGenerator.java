@@ -0,0 +1,199 @@
+package com.example.clanhubadv.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Закрытая модель нагрузки: concurrency клиентов шлют запросы подряд в течение duration.
+// В режиме смеси каждый следующий запрос клиента выбирается случайно по весам шагов.
+// Первые warmup секунд в статистику не попадают.
+public class LoadGenerator {
+
+    // Заголовок с именем шага - по нему StatementCounter относит SQL к сценарию
+    public static final String SCENARIO_HEADER = "X-Load-Scenario";
+
+    private static final long[] HISTOGRAM_BOUNDS_MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+    private final HttpClient client;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+
+    public LoadGenerator(int concurrency, Duration warmup, Duration duration) {
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(Math.max(4, concurrency / 4)))
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public LoadResult run(String name, Supplier<HttpRequest> requests) throws Exception {
+        return runMix(List.of(new Step(name, 1, requests))).get(0);
+    }
+
+    public List<LoadResult> runMix(List<Step> steps) throws Exception {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Map<String, Sample>>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(clients.submit(() -> drive(steps, measureFrom, deadline)));
+            }
+
+            Map<String, Sample> totals = new LinkedHashMap<>();
+            steps.forEach(step -> totals.put(step.name(), new Sample()));
+            for (Future<Map<String, Sample>> future : futures) {
+                future.get().forEach((name, sample) -> totals.get(name).merge(sample));
+            }
+
+            List<LoadResult> results = new ArrayList<>(steps.size());
+            totals.forEach((name, sample) -> results.add(sample.toResult(name, concurrency, duration)));
+            return results;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private Map<String, Sample> drive(List<Step> steps, long measureFrom, long deadline) {
+        int totalWeight = steps.stream().mapToInt(Step::weight).sum();
+        Map<String, Sample> samples = new LinkedHashMap<>();
+        steps.forEach(step -> samples.put(step.name(), new Sample()));
+
+        while (true) {
+            Step step = pick(steps, totalWeight);
+            long start = System.nanoTime();
+            if (start >= deadline) {
+                return samples;
+            }
+            boolean ok;
+            try {
+                HttpRequest request = HttpRequest.newBuilder(step.requests().get(), (name, value) -> true)
+                        .header(SCENARIO_HEADER, step.name())
+                        .build();
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                ok = response.statusCode() < 400;
+            } catch (Exception e) {
+                ok = false;
+            }
+            long end = System.nanoTime();
+            if (start >= measureFrom && end <= deadline) {
+                samples.get(step.name()).record(end - start, ok);
+            }
+        }
+    }
+
+    private static Step pick(List<Step> steps, int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Step step : steps) {
+            roll -= step.weight();
+            if (roll < 0) {
+                return step;
+            }
+        }
+        return steps.get(steps.size() - 1);
+    }
+
+    public record Step(String name, int weight, Supplier<HttpRequest> requests) {
+    }
+
+    private static final class Sample {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long latencyNanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void merge(Sample other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        LoadResult toResult(String name, int concurrency, Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new LoadResult(name, concurrency, count, errors,
+                    count / (duration.toMillis() / 1000.0),
+                    percentileMillis(sorted, 0.50),
+                    percentileMillis(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0,
+                    histogram(sorted));
+        }
+
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+
+        // Последний элемент - запросы дольше самой большой границы
+        private static long[] histogram(long[] sorted) {
+            long[] buckets = new long[HISTOGRAM_BOUNDS_MILLIS.length + 1];
+            int bucket = 0;
+            for (long latency : sorted) {
+                while (bucket < HISTOGRAM_BOUNDS_MILLIS.length && latency > HISTOGRAM_BOUNDS_MILLIS[bucket] * 1_000_000) {
+                    bucket++;
+                }
+                buckets[bucket]++;
+            }
+            return buckets;
+        }
+    }
+
+    public record LoadResult(String name, int concurrency, long requests, long errors,
+                             double throughput, double p50Millis, double p99Millis, double maxMillis,
+                             long[] histogram) {
+
+        public static String header() {
+            return String.format("%-40s %6s %9s %7s %10s %9s %9s %9s",
+                    "scenario", "conc", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        }
+
+        public String histogramLines() {
+            StringBuilder lines = new StringBuilder(name).append(" latency histogram\n");
+            for (int i = 0; i < histogram.length; i++) {
+                String label = i < HISTOGRAM_BOUNDS_MILLIS.length
+                        ? "<= " + HISTOGRAM_BOUNDS_MILLIS[i] + " ms"
+                        : "> " + HISTOGRAM_BOUNDS_MILLIS[HISTOGRAM_BOUNDS_MILLIS.length - 1] + " ms";
+                double share = requests == 0 ? 0 : 100.0 * histogram[i] / requests;
+                lines.append(String.format("  %-12s %9d %6.2f%% %s%n",
+                        label, histogram[i], share, "#".repeat((int) Math.round(share / 2))));
+            }
+            return lines.toString();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-40s %6d %9d %7d %10.1f %9.2f %9.2f %9.2f",
+                    name, concurrency, requests, errors, throughput, p50Millis, p99Millis, maxMillis);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.clanhubadv.loadtest;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+// Дополнительные бины для нагрузочных тестов: фильтр StatementCounter раньше Spring Security,
+// чтобы запросы JwtAuthFilter тоже попадали в счётчик.
+// Без @Configuration, чтобы сканирование компонентов не подхватило его в других тестах - подключается через sources().
+public class LoadTestConfig {
+
+    @Bean
+    public FilterRegistrationBean<StatementCounter> statementCounterFilter() {
+        FilterRegistrationBean<StatementCounter> registration = new FilterRegistrationBean<>(new StatementCounter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.clanhubadv.loadtest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Считает SQL-выражения по сценариям нагрузки.
+// Фильтр запоминает сценарий из заголовка X-Load-Scenario в потоке запроса,
+// Hibernate вызывает inspect для каждого подготавливаемого выражения (hibernate.session_factory.statement_inspector).
+public class StatementCounter extends OncePerRequestFilter implements StatementInspector {
+
+    private static final ThreadLocal<String> CURRENT_SCENARIO = new ThreadLocal<>();
+    private static final Map<String, LongAdder> STATEMENTS = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> REQUESTS = new ConcurrentHashMap<>();
+
+    @Override
+    public String inspect(String sql) {
+        String scenario = CURRENT_SCENARIO.get();
+        if (scenario != null) {
+            STATEMENTS.computeIfAbsent(scenario, key -> new LongAdder()).increment();
+        }
+        return sql;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String scenario = request.getHeader(LoadGenerator.SCENARIO_HEADER);
+        if (scenario == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        CURRENT_SCENARIO.set(scenario);
+        REQUESTS.computeIfAbsent(scenario, key -> new LongAdder()).increment();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            CURRENT_SCENARIO.remove();
+        }
+    }
+
+    public static void reset() {
+        STATEMENTS.clear();
+        REQUESTS.clear();
+    }
+
+    // Среднее число SQL-выражений на запрос по каждому сценарию
+    public static Map<String, Double> statementsPerRequest() {
+        Map<String, Double> result = new TreeMap<>();
+        REQUESTS.forEach((scenario, requests) -> {
+            LongAdder statements = STATEMENTS.get(scenario);
+            long count = requests.sum();
+            result.put(scenario, count == 0 || statements == null ? 0.0 : (double) statements.sum() / count);
+        });
+        return result;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.clanhubadv.loadtest;
+
+import com.example.clanhubadv.ClanHubAdvApplication;
+import com.example.clanhubadv.entity.Role;
+import com.example.clanhubadv.entity.Task;
+import com.example.clanhubadv.entity.User;
+import com.example.clanhubadv.repository.RoleRepository;
+import com.example.clanhubadv.repository.TaskRepository;
+import com.example.clanhubadv.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Сравнение платформенных и виртуальных потоков на /api/auth/sign-in и /api/tasks/list.
+ * Приложение поднимается дважды на H2 (профиль h2), результаты печатаются таблицей.
+ * Виртуальные потоки доступны только на Java 21 (mvn -Pjava21,load-test test), на Java 17 замеряется один режим.
+ * Параметры: -Dload.concurrency, -Dload.seconds, -Dload.tasks.
+ */
+@Tag("load")
+class ThreadingModeLoadTest {
+
+    private static final String EMAIL = "load@example.com";
+    private static final String PASSWORD = "Password!123";
+
+    private final int concurrency = Integer.getInteger("load.concurrency", 200);
+    private final Duration duration = Duration.ofSeconds(Integer.getInteger("load.seconds", 20));
+    private final int taskCount = Integer.getInteger("load.tasks", 200);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compareThreadingModes() throws Exception {
+        List<Boolean> modes = Runtime.version().feature() >= 21 ? List.of(false, true) : List.of(false);
+        List<LoadGenerator.LoadResult> results = new ArrayList<>();
+
+        for (boolean virtualThreads : modes) {
+            String mode = virtualThreads ? "virtual" : "platform";
+            try (ConfigurableApplicationContext context = start(mode, virtualThreads)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                String baseUrl = "http://localhost:" + port;
+                seed(context);
+                String token = signIn(baseUrl);
+
+                LoadGenerator generator = new LoadGenerator(concurrency, Duration.ofSeconds(5), duration);
+                results.add(generator.run(mode + " POST /api/auth/sign-in", () -> signInRequest(baseUrl)));
+                results.add(generator.run(mode + " GET /api/tasks/list", () -> HttpRequest.newBuilder()
+                        .uri(URI.create(baseUrl + "/api/tasks/list"))
+                        .header("Authorization", "Bearer " + token)
+                        .GET()
+                        .build()));
+            }
+        }
+
+        System.out.println(LoadGenerator.LoadResult.header());
+        results.forEach(System.out::println);
+    }
+
+    private ConfigurableApplicationContext start(String mode, boolean virtualThreads) {
+        return new SpringApplicationBuilder(ClanHubAdvApplication.class)
+                .profiles("h2")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.org.springframework.security=WARN",
+                        "logging.level.org.springframework.web=WARN",
+                        "email.outbox.poll-interval-ms=3600000")
+                .run();
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        Role role = context.getBean(RoleRepository.class).save(new Role("USER"));
+
+        User user = new User();
+        user.setUsername("load");
+        user.setEmail(EMAIL);
+        user.setPassword(context.getBean(PasswordEncoder.class).encode(PASSWORD));
+        user.setRole(role);
+        user = context.getBean(UserRepository.class).save(user);
+
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setDescription("Load test task " + i);
+            task.setDueDate(LocalDate.now().plusDays(i % 30));
+            task.setPriority(i % 3);
+            task.setCreatedBy(user);
+            task.setAssignedTo(user);
+            tasks.add(task);
+        }
+        context.getBean(TaskRepository.class).saveAll(tasks);
+    }
+
+    private String signIn(String baseUrl) throws Exception {
+        HttpResponse<String> response = HttpClient.newHttpClient()
+                .send(signInRequest(baseUrl), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.get("token").asText();
+    }
+
+    private HttpRequest signInRequest(String baseUrl) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/api/auth/sign-in"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+    }
+}
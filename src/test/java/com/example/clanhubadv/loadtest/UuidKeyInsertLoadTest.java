@@ -0,0 +1,121 @@
+package com.example.clanhubadv.loadtest;
+
+import com.example.clanhubadv.entity.id.TimeOrderedUuids;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Вставка задач со случайными (v4) и упорядоченными по времени (v7) ключами BINARY(16):
+ * throughput вставки пачками и размер таблицы с индексами после загрузки.
+ * По умолчанию - файловая H2 в target/, чтобы размер был реальным; для цифр InnoDB
+ * задайте MySQL: -Dload.jdbc-url=jdbc:mysql://localhost:3306/bench -Dload.jdbc-user=... -Dload.jdbc-password=...
+ * Запуск: mvn -Pload-test test -Dtest=UuidKeyInsertLoadTest [-Dload.rows=1000000 -Dload.batch-size=1000]
+ */
+@Tag("load")
+class UuidKeyInsertLoadTest {
+
+    private final int rows = Integer.getInteger("load.rows", 1_000_000);
+    private final int batchSize = Integer.getInteger("load.batch-size", 1000);
+    private final String jdbcUrl = System.getProperty("load.jdbc-url",
+            "jdbc:h2:file:./target/uuid-key-bench;MODE=MySQL");
+    private final String jdbcUser = System.getProperty("load.jdbc-user", "sa");
+    private final String jdbcPassword = System.getProperty("load.jdbc-password", "");
+
+    @Test
+    void compareRandomAndTimeOrderedKeys() throws Exception {
+        StringBuilder report = new StringBuilder(String.format("%d rows, batch %d, %s%n%n", rows, batchSize, jdbcUrl));
+        report.append(String.format("%-12s %12s %12s %14s %14s%n", "key", "seconds", "rows/s", "data bytes", "index bytes"));
+
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, jdbcUser, jdbcPassword)) {
+            report.append(run(connection, "task_uuid_v4", UUID::randomUUID)).append('\n');
+            report.append(run(connection, "task_uuid_v7", TimeOrderedUuids::next)).append('\n');
+        }
+
+        System.out.println(report);
+        Path file = Path.of("target", "uuid-key-insert-report.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report, StandardCharsets.UTF_8);
+    }
+
+    private String run(Connection connection, String table, Supplier<UUID> ids) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            // Те же ключевые колонки и вторичный индекс, что у task; вторичные индексы InnoDB несут PK в каждой записи
+            statement.execute("CREATE TABLE " + table + " ("
+                    + "id BINARY(16) NOT NULL, title VARCHAR(255) NOT NULL, created_at DATE NOT NULL, "
+                    + "created_by BINARY(16) NOT NULL, PRIMARY KEY (id))");
+            statement.execute("CREATE INDEX idx_" + table + "_created_by ON " + table + " (created_by, created_at, id)");
+        }
+
+        UUID[] creators = new UUID[64];
+        for (int i = 0; i < creators.length; i++) {
+            creators[i] = ids.get();
+        }
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, title, created_at, created_by) VALUES (?, ?, ?, ?)")) {
+            Date today = Date.valueOf(LocalDate.now());
+            for (int i = 1; i <= rows; i++) {
+                insert.setBytes(1, bytes(ids.get()));
+                insert.setString(2, "Task " + i);
+                insert.setDate(3, today);
+                insert.setBytes(4, bytes(creators[i % creators.length]));
+                insert.addBatch();
+                if (i % batchSize == 0 || i == rows) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long[] size = size(connection, table);
+        return String.format("%-12s %12.1f %12.0f %14d %14d",
+                table.substring("task_".length()), seconds, rows / seconds, size[0], size[1]);
+    }
+
+    // {данные, индексы}; H2 отдаёт только общий размер таблицы вместе с индексами
+    private long[] size(Connection connection, String table) throws Exception {
+        if (jdbcUrl.startsWith("jdbc:mysql")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE TABLE " + table);
+                try (ResultSet result = statement.executeQuery("SELECT data_length, index_length "
+                        + "FROM information_schema.TABLES WHERE table_schema = DATABASE() AND table_name = '" + table + "'")) {
+                    result.next();
+                    return new long[]{result.getLong(1), result.getLong(2)};
+                }
+            }
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("CALL DISK_SPACE_USED('" + table.toUpperCase() + "')")) {
+            result.next();
+            return new long[]{result.getLong(1), 0};
+        }
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
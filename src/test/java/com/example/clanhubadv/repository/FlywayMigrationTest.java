@@ -0,0 +1,72 @@
+package com.example.clanhubadv.repository;
+
+import com.example.clanhubadv.entity.Role;
+import com.example.clanhubadv.entity.Task;
+import com.example.clanhubadv.entity.TaskStatus;
+import com.example.clanhubadv.entity.User;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Прогоняет миграции Flyway на пустой базе и поднимает Hibernate с ddl-auto=validate, как в проде.
+ * Типы колонок ожидаются по MySQLDialect; H2 в режиме MySQL выполняет те же скрипты.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flyway_fresh;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+public class FlywayMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void migrate_shouldApplyAllMigrationsWithoutBaseline() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().applied())
+                .extracting(MigrationInfo::getType)
+                .doesNotContain(MigrationType.BASELINE);
+    }
+
+    @Test
+    void entities_shouldRoundTripThroughMigratedSchema() {
+        Role role = entityManager.persist(new Role("USER"));
+        User user = new User();
+        user.setUsername("user");
+        user.setEmail("user@example.com");
+        user.setPassword("password");
+        user.setRole(role);
+        entityManager.persist(user);
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setCreatedBy(user);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setDueDate(LocalDate.of(2025, 3, 1));
+        entityManager.persist(task);
+        entityManager.flush();
+        entityManager.clear();
+
+        Task reloaded = entityManager.find(Task.class, task.getId());
+
+        assertThat(reloaded.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+        assertThat(reloaded.getCreatedBy().getTokenVersion()).isZero();
+    }
+}
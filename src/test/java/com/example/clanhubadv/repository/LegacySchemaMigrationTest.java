@@ -0,0 +1,60 @@
+package com.example.clanhubadv.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * База, созданная раньше через ddl-auto=update (db/legacy-ddl-auto-schema.sql): Flyway ставит baseline 0,
+ * V1 ничего не делает, дальнейшие миграции должны довести схему до сущностей - иначе validate не даст
+ * подняться контексту.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flyway_legacy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;"
+                + "DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:db/legacy-ddl-auto-schema.sql'",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+public class LegacySchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void migrate_shouldBaselineExistingSchemaAndApplyRemainingMigrations() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().applied())
+                .extracting(MigrationInfo::getType)
+                .contains(MigrationType.BASELINE);
+    }
+
+    @Test
+    void migrate_shouldAddTokenVersionAndTurnStatusEnumIntoVarchar() {
+        assertThat(columnType("user", "token_version")).isEqualTo("INTEGER");
+        assertThat(columnType("task", "status")).isEqualTo("CHARACTER VARYING");
+    }
+
+    private String columnType(String table, String column) {
+        Object type = entityManager.getEntityManager()
+                .createNativeQuery("SELECT data_type FROM information_schema.columns "
+                        + "WHERE table_name = ?1 AND column_name = ?2")
+                .setParameter(1, table)
+                .setParameter(2, column)
+                .getSingleResult();
+        return String.valueOf(type);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.clanhubadv.repository;
+
+import com.example.clanhubadv.entity.Role;
+import com.example.clanhubadv.entity.Task;
+import com.example.clanhubadv.entity.User;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет по EXPLAIN, что запросы TaskRepository идут через индексы из @Table(indexes) сущности Task.
+ * SQL берётся тот, что Hibernate реально отправляет для метода репозитория (StatementInspector),
+ * параметры при EXPLAIN не важны - H2 выбирает план при подготовке запроса.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.clanhubadv.repository.TaskIndexPlanTest$CapturedSql")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+public class TaskIndexPlanTest {
+
+    private static final String CREATED_AT_INDEX = "idx_task_created_by_created_at";
+    private static final String DUE_DATE_INDEX = "idx_task_created_by_due_date";
+    private static final String FAMILY_INDEX = "idx_task_family_due_date";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private User creator;
+    private UUID familyId;
+
+    @BeforeEach
+    void setUp() {
+        Role role = entityManager.persist(new Role("USER"));
+        familyId = UUID.randomUUID();
+
+        for (int u = 0; u < 5; u++) {
+            User user = new User();
+            user.setUsername("user" + u);
+            user.setEmail("user" + u + "@example.com");
+            user.setPassword("password");
+            user.setRole(role);
+            entityManager.persist(user);
+            if (u == 0) {
+                creator = user;
+            }
+
+            for (int i = 0; i < 20; i++) {
+                Task task = new Task();
+                task.setTitle("Task " + u + "-" + i);
+                task.setDueDate(LocalDate.of(2025, 3, 1).plusDays(i));
+                task.setCreatedBy(user);
+                task.setAssignedTo(user);
+                task.setFamilyId(i % 2 == 0 ? familyId : UUID.randomUUID());
+                task.setPriority(i % 3);
+                entityManager.persist(task);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        CapturedSql.STATEMENTS.clear();
+    }
+
+    @Test
+    void calendarQuery_shouldUseCreatedByDueDateIndex() {
+        taskRepository.findByDueDateBetweenAndCreatedByEmail(
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 10), creator.getEmail());
+
+        assertTaskIndex(DUE_DATE_INDEX);
+    }
+
+    @Test
+    void firstKeysetPage_shouldUseCreatedByCreatedAtIndex() {
+        taskRepository.findFirstTasksWithFilters(creator.getId(), null, null, null, null, null, PageRequest.of(0, 21));
+
+        assertTaskIndex(CREATED_AT_INDEX);
+    }
+
+    @Test
+    void nextKeysetPage_shouldUseCreatedByCreatedAtIndex() {
+        taskRepository.findNextTasksWithFilters(creator.getId(), LocalDate.now(), UUID.randomUUID(),
+                null, null, null, null, null, PageRequest.of(0, 21));
+
+        assertTaskIndex(CREATED_AT_INDEX);
+    }
+
+    @Test
+    void filteredPage_shouldUseCreatedByIndexEvenWithFamilyFilter() {
+        taskRepository.findTasksWithFilters(creator.getId(), familyId, null, null, creator.getId(), null,
+                PageRequest.of(0, 10, Sort.by("createdAt").descending().and(Sort.by("id"))));
+
+        assertTaskIndex(CREATED_AT_INDEX);
+    }
+
+    @Test
+    void familyFeed_shouldUseFamilyDueDateIndex() {
+        taskRepository.findByFamilyIdOrderByDueDateAscIdAsc(familyId);
+
+        assertTaskIndex(FAMILY_INDEX);
+    }
+
+    // Первый select по task, отправленный методом репозитория, должен идти ровно по одному ожидаемому индексу task
+    private void assertTaskIndex(String expected) {
+        String sql = CapturedSql.STATEMENTS.stream()
+                .filter(statement -> statement.toLowerCase().startsWith("select"))
+                .findFirst()
+                .orElseThrow();
+        String plan = explain(sql).toLowerCase();
+
+        assertThat(plan).contains(expected);
+        List.of(CREATED_AT_INDEX, DUE_DATE_INDEX, FAMILY_INDEX).stream()
+                .filter(index -> !index.equals(expected))
+                .forEach(index -> assertThat(plan).doesNotContain(index));
+    }
+
+    private String explain(String sql) {
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameterCount = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameterCount; i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+
+    public static class CapturedSql implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.clanhubadv.repository;
+
+import com.example.clanhubadv.entity.Role;
+import com.example.clanhubadv.entity.Task;
+import com.example.clanhubadv.entity.TaskStatus;
+import com.example.clanhubadv.entity.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+public class TaskRepositoryTest {
+
+    private static final int TASK_COUNT = 50;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    private Statistics statistics;
+    private User creator;
+    private User otherUser;
+
+    @BeforeEach
+    void setUp() {
+        Role userRole = entityManager.persist(new Role("USER"));
+        Role adminRole = entityManager.persist(new Role("ADMIN"));
+
+        creator = createUser("creator", userRole);
+        User firstAssignee = createUser("first", userRole);
+        User secondAssignee = createUser("second", adminRole);
+        otherUser = secondAssignee;
+
+        for (int i = 0; i < TASK_COUNT; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setDueDate(LocalDate.of(2025, 3, 1).plusDays(i % 28));
+            task.setCreatedBy(creator);
+            task.setAssignedTo(i % 2 == 0 ? firstAssignee : secondAssignee);
+            entityManager.persist(task);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findByCreatedByEmail_shouldLoadTasksUsersAndRolesInOneStatement() {
+        List<Task> tasks = taskRepository.findByCreatedByEmail("creator@example.com");
+
+        assertThat(tasks).hasSize(TASK_COUNT);
+        touchUsers(tasks);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findByDueDateBetweenAndCreatedByEmail_shouldLoadTasksUsersAndRolesInOneStatement() {
+        List<Task> tasks = taskRepository.findByDueDateBetweenAndCreatedByEmail(
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 28), "creator@example.com");
+
+        assertThat(tasks).hasSize(TASK_COUNT);
+        touchUsers(tasks);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void streamByCreatedByEmail_shouldStreamTasksUsersAndRolesInOneStatement() {
+        List<Task> tasks;
+        try (Stream<Task> stream = taskRepository.streamByCreatedByEmail("creator@example.com")) {
+            tasks = stream.toList();
+        }
+
+        assertThat(tasks).hasSize(TASK_COUNT);
+        touchUsers(tasks);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void completeOwnTasks_shouldUpdateOnlyCreatorsTasksInOneStatement() {
+        List<UUID> ids = taskRepository.findByCreatedByEmail("creator@example.com").stream()
+                .limit(3)
+                .map(Task::getId)
+                .collect(Collectors.toCollection(ArrayList::new));
+        Task foreign = new Task();
+        foreign.setTitle("Foreign task");
+        foreign.setDueDate(LocalDate.of(2025, 3, 1));
+        foreign.setCreatedBy(otherUser);
+        ids.add(entityManager.persistFlushFind(foreign).getId());
+        entityManager.clear();
+        statistics.clear();
+
+        int updated = taskRepository.completeOwnTasks(ids, creator.getId(), LocalDate.of(2025, 3, 15));
+
+        assertThat(updated).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        List<Task> reloaded = taskRepository.findAllById(ids);
+        reloaded.stream().filter(task -> task.getCreatedBy().getId().equals(creator.getId())).forEach(task -> {
+            assertThat(task.getStatus()).isEqualTo(TaskStatus.COMPLETED);
+            assertThat(task.isCompleted()).isTrue();
+            assertThat(task.getCompletionDate()).isEqualTo(LocalDate.of(2025, 3, 15));
+        });
+        Task reloadedForeign = reloaded.stream().filter(task -> task.getId().equals(foreign.getId())).findFirst().orElseThrow();
+        assertThat(reloadedForeign.getStatus()).isEqualTo(TaskStatus.NEW);
+        assertThat(reloadedForeign.isCompleted()).isFalse();
+    }
+
+    @Test
+    void updateStatusOfOwnTasks_shouldReopenTasksAndKeepCompletionDate() {
+        List<UUID> ids = taskRepository.findByCreatedByEmail("creator@example.com").stream()
+                .limit(2)
+                .map(Task::getId)
+                .toList();
+        taskRepository.completeOwnTasks(ids, creator.getId(), LocalDate.of(2025, 3, 15));
+
+        int updated = taskRepository.updateStatusOfOwnTasks(ids, creator.getId(), TaskStatus.IN_PROGRESS);
+
+        assertThat(updated).isEqualTo(2);
+        taskRepository.findAllById(ids).forEach(task -> {
+            assertThat(task.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+            assertThat(task.isCompleted()).isFalse();
+            assertThat(task.getCompletionDate()).isEqualTo(LocalDate.of(2025, 3, 15));
+        });
+    }
+
+    @Test
+    void saveAll_shouldInsertTasksInJdbcBatchesOfBatchSize() {
+        int count = batchSize * 2 + 10;
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setTitle("Batch task " + i);
+            task.setDueDate(LocalDate.of(2025, 4, 1));
+            task.setCreatedBy(creator);
+            tasks.add(task);
+        }
+
+        taskRepository.saveAll(tasks);
+        entityManager.flush();
+
+        // Один PreparedStatement на пакет: 2 полных пакета + остаток
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(count);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void findByCreatedByEmail_shouldReturnEmpty_whenUserHasNoTasks() {
+        assertThat(taskRepository.findByCreatedByEmail("first@example.com")).isEmpty();
+    }
+
+    private void touchUsers(List<Task> tasks) {
+        tasks.forEach(task -> {
+            assertThat(task.getCreatedBy().getRole().getRoleName()).isNotNull();
+            assertThat(task.getAssignedTo().getRole().getRoleName()).isNotNull();
+        });
+    }
+
+    private User createUser(String name, Role role) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("password");
+        user.setRole(role);
+        return entityManager.persist(user);
+    }
+}
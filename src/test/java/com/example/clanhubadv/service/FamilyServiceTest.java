@@ -0,0 +1,239 @@
+package com.example.clanhubadv.service;
+
+import com.example.clanhubadv.dto.responses.family.FamilyResponseDto;
+import com.example.clanhubadv.dto.responses.task.TaskResponseDto;
+import com.example.clanhubadv.entity.Family;
+import com.example.clanhubadv.entity.Task;
+import com.example.clanhubadv.entity.User;
+import com.example.clanhubadv.repository.FamilyRepository;
+import com.example.clanhubadv.repository.TaskRepository;
+import com.example.clanhubadv.repository.UserRepository;
+import com.example.clanhubadv.service.cache.FamilyTaskFeedCache;
+import com.example.clanhubadv.service.cache.InviteCodeResolver;
+import com.example.clanhubadv.service.converter.FamilyConverter;
+import com.example.clanhubadv.service.converter.TaskConverter;
+import com.example.clanhubadv.service.exception.AccessDeniedException;
+import com.example.clanhubadv.service.exception.AlreadyExistException;
+import com.example.clanhubadv.service.exception.ExcessAttemptLimitException;
+import com.example.clanhubadv.service.exception.NotFoundException;
+import com.example.clanhubadv.service.ratelimit.RateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class FamilyServiceTest {
+
+    @Mock
+    private FamilyRepository familyRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskConverter taskConverter;
+
+    @Spy
+    private FamilyConverter familyConverter = new FamilyConverter();
+
+    @Spy
+    private FamilyTaskFeedCache familyTaskFeedCache = new FamilyTaskFeedCache(true, 100, 60);
+
+    @Mock
+    private InviteCodeResolver inviteCodeResolver;
+
+    @Mock
+    private RateLimiter inviteCodeAttemptLimiter;
+
+    @InjectMocks
+    private FamilyService familyService;
+
+    private User user;
+    private Family family;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("test@example.com");
+
+        family = new Family(UUID.randomUUID(), "The Smiths", UUID.randomUUID(), UUID.randomUUID(), null);
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(inviteCodeAttemptLimiter.isAllowed("test@example.com")).thenReturn(true);
+        when(taskConverter.convertTasksToDto(anyList())).thenAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            return tasks.stream().map(task -> {
+                TaskResponseDto dto = new TaskResponseDto();
+                dto.setId(task.getId());
+                return dto;
+            }).toList();
+        });
+    }
+
+    @Test
+    void createFamily_ShouldMakeCreatorAdminAndMember() {
+        when(familyRepository.save(any(Family.class))).thenAnswer(invocation -> {
+            Family saved = invocation.getArgument(0);
+            saved.setId(family.getId());
+            return saved;
+        });
+
+        FamilyResponseDto result = familyService.createFamily("The Smiths", "test@example.com");
+
+        assertEquals(family.getId(), result.getId());
+        assertEquals(user.getId(), result.getAdminUserId());
+        assertNotNull(result.getInviteCode());
+        assertEquals(family.getId(), user.getFamilyID());
+        verify(inviteCodeResolver).register(argThat(saved -> saved.getInviteCode().equals(result.getInviteCode())));
+        verify(userRepository).save(user);
+        verify(taskRepository).assignFamilyToTasksOf(user.getId(), family.getId());
+    }
+
+    @Test
+    void createFamily_ShouldRejectDuplicateName() {
+        when(familyRepository.existsByName("The Smiths")).thenReturn(true);
+
+        assertThrows(AlreadyExistException.class, () -> familyService.createFamily("The Smiths", "test@example.com"));
+        verify(familyRepository, never()).save(any());
+    }
+
+    @Test
+    void joinByInviteCode_ShouldAddUserAndMoveTheirTasksIntoFamilyFeed() {
+        stubResolvedFamily();
+
+        FamilyResponseDto result = familyService.joinByInviteCode(family.getInviteCode(), "test@example.com");
+
+        assertEquals(family.getId(), result.getId());
+        assertEquals(family.getId(), user.getFamilyID());
+        verify(taskRepository).assignFamilyToTasksOf(user.getId(), family.getId());
+        verify(familyTaskFeedCache).evict(family.getId());
+        verify(familyRepository, never()).findByInviteCode(any());
+    }
+
+    @Test
+    void joinByInviteCode_ShouldRejectUnknownCodeWithoutTouchingDatabase() {
+        when(inviteCodeResolver.resolve(any())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class,
+                () -> familyService.joinByInviteCode(UUID.randomUUID(), "test@example.com"));
+        assertNull(user.getFamilyID());
+        verifyNoInteractions(familyRepository, userRepository);
+        verify(inviteCodeAttemptLimiter).record("test@example.com");
+    }
+
+    @Test
+    void joinByInviteCode_ShouldRejectWithoutLookup_WhenTooManyFailedAttempts() {
+        when(inviteCodeAttemptLimiter.isAllowed("test@example.com")).thenReturn(false);
+
+        assertThrows(ExcessAttemptLimitException.class,
+                () -> familyService.joinByInviteCode(UUID.randomUUID(), "test@example.com"));
+        verifyNoInteractions(inviteCodeResolver, familyRepository);
+        verify(inviteCodeAttemptLimiter, never()).record(any());
+    }
+
+    @Test
+    void joinByInviteCode_ShouldRejectAndForgetCodeRotatedElsewhere() {
+        UUID staleCode = UUID.randomUUID();
+        when(inviteCodeResolver.resolve(staleCode)).thenReturn(Optional.of(family.getId()));
+        when(familyRepository.findById(family.getId())).thenReturn(Optional.of(family));
+
+        assertThrows(NotFoundException.class, () -> familyService.joinByInviteCode(staleCode, "test@example.com"));
+        verify(inviteCodeResolver).revoke(staleCode);
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void joinByInviteCode_ShouldRejectExpiredCode() {
+        family.setInviteCodeExpiresAt(LocalDateTime.now().minusMinutes(1));
+        stubResolvedFamily();
+
+        assertThrows(NotFoundException.class,
+                () -> familyService.joinByInviteCode(family.getInviteCode(), "test@example.com"));
+        verify(inviteCodeResolver).revoke(family.getInviteCode());
+    }
+
+    @Test
+    void joinByInviteCode_ShouldRejectMemberOfAnotherFamily() {
+        user.setFamilyID(UUID.randomUUID());
+        stubResolvedFamily();
+
+        assertThrows(AlreadyExistException.class,
+                () -> familyService.joinByInviteCode(family.getInviteCode(), "test@example.com"));
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void rotateInviteCode_ShouldReplaceCodeAndRevokePreviousOne() {
+        user.setFamilyID(family.getId());
+        family.setAdminUserId(user.getId());
+        UUID previousCode = family.getInviteCode();
+        when(familyRepository.findById(family.getId())).thenReturn(Optional.of(family));
+
+        FamilyResponseDto result = familyService.rotateInviteCode("test@example.com");
+
+        assertNotEquals(previousCode, result.getInviteCode());
+        verify(familyRepository).save(family);
+        verify(inviteCodeResolver).revoke(previousCode);
+        verify(inviteCodeResolver).register(family);
+    }
+
+    @Test
+    void rotateInviteCode_ShouldRejectNonAdmin() {
+        user.setFamilyID(family.getId());
+        when(familyRepository.findById(family.getId())).thenReturn(Optional.of(family));
+
+        assertThrows(AccessDeniedException.class, () -> familyService.rotateInviteCode("test@example.com"));
+        verify(familyRepository, never()).save(any());
+        verifyNoInteractions(inviteCodeResolver);
+    }
+
+    @Test
+    void getFamilyTasks_ShouldLoadFeedOnceUntilEvicted() {
+        user.setFamilyID(family.getId());
+        Task task = new Task();
+        task.setId(UUID.randomUUID());
+        when(taskRepository.findByFamilyIdOrderByDueDateAscIdAsc(family.getId())).thenReturn(List.of(task));
+
+        List<TaskResponseDto> first = familyService.getFamilyTasks("test@example.com");
+        List<TaskResponseDto> second = familyService.getFamilyTasks("test@example.com");
+
+        assertEquals(1, first.size());
+        assertSame(first, second);
+        verify(taskRepository, times(1)).findByFamilyIdOrderByDueDateAscIdAsc(family.getId());
+
+        familyTaskFeedCache.evict(family.getId());
+        familyService.getFamilyTasks("test@example.com");
+
+        verify(taskRepository, times(2)).findByFamilyIdOrderByDueDateAscIdAsc(family.getId());
+    }
+
+    @Test
+    void getFamilyTasks_ShouldThrow_WhenUserHasNoFamily() {
+        assertThrows(NotFoundException.class, () -> familyService.getFamilyTasks("test@example.com"));
+        verifyNoInteractions(taskRepository);
+    }
+
+    private void stubResolvedFamily() {
+        when(inviteCodeResolver.resolve(family.getInviteCode())).thenReturn(Optional.of(family.getId()));
+        when(familyRepository.findById(family.getId())).thenReturn(Optional.of(family));
+    }
+}
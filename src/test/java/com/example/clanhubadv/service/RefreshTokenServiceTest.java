@@ -0,0 +1,168 @@
+package com.example.clanhubadv.service;
+
+import com.example.clanhubadv.Security.JWT.JwtCore;
+import com.example.clanhubadv.Security.JWT.TokenRevocationList;
+import com.example.clanhubadv.Security.JWT.UserDetailImpl;
+import com.example.clanhubadv.dto.responses.signInUp.AuthResponseDto;
+import com.example.clanhubadv.entity.RefreshToken;
+import com.example.clanhubadv.entity.Role;
+import com.example.clanhubadv.entity.User;
+import com.example.clanhubadv.repository.RefreshTokenRepository;
+import com.example.clanhubadv.repository.UserRepository;
+import com.example.clanhubadv.service.converter.UserConverter;
+import com.example.clanhubadv.service.exception.InvalidRefreshTokenException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtCore jwtCore;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshTokenService refreshTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, userRepository, jwtCore, tokenRevocationList,
+                new UserConverter(null, null, null), meterRegistry, 60_000);
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("test@example.com");
+        user.setRole(new Role("USER"));
+
+        when(jwtCore.createToken(any(UserDetailImpl.class))).thenReturn("access.jwt.token");
+    }
+
+    @Test
+    void issue_ShouldStoreOnlyHashOfToken() {
+        String rawToken = refreshTokenService.issue(user);
+
+        RefreshToken stored = captureSaved();
+        assertNotNull(rawToken);
+        assertArrayEquals(RefreshTokenService.hash(rawToken), stored.getTokenHash());
+        assertEquals(32, stored.getTokenHash().length);
+        assertSame(user, stored.getUser());
+        assertFalse(stored.isRevoked());
+        assertTrue(stored.getExpiresAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void issue_ShouldReferenceNewUserById() {
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
+
+        String rawToken = refreshTokenService.issue(user.getId());
+
+        RefreshToken stored = captureSaved();
+        assertArrayEquals(RefreshTokenService.hash(rawToken), stored.getTokenHash());
+        assertSame(user, stored.getUser());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void refresh_ShouldRotateTokenWithinSameSeries() {
+        RefreshToken current = stored("old-token", false, LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.revokeIfActive(current.getId())).thenReturn(1);
+
+        AuthResponseDto response = refreshTokenService.refresh("old-token");
+
+        assertEquals("access.jwt.token", response.getToken());
+        assertNotNull(response.getRefreshToken());
+        assertNotEquals("old-token", response.getRefreshToken());
+        assertEquals("test@example.com", response.getEmail());
+
+        RefreshToken next = captureSaved();
+        assertEquals(current.getSeriesId(), next.getSeriesId());
+        assertArrayEquals(RefreshTokenService.hash(response.getRefreshToken()), next.getTokenHash());
+        assertEquals(1.0, meterRegistry.counter("auth.refresh", "outcome", "refreshed").count());
+    }
+
+    @Test
+    void refresh_ShouldRevokeWholeSeries_WhenRotatedTokenIsReused() {
+        RefreshToken current = stored("old-token", true, LocalDateTime.now().plusDays(1));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.refresh("old-token"));
+
+        verify(refreshTokenRepository).revokeSeries(current.getSeriesId());
+        verify(refreshTokenRepository, never()).save(any());
+        verifyNoInteractions(jwtCore);
+    }
+
+    @Test
+    void refresh_ShouldRevokeWholeSeries_WhenConcurrentRefreshWon() {
+        RefreshToken current = stored("old-token", false, LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.revokeIfActive(current.getId())).thenReturn(0);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.refresh("old-token"));
+
+        verify(refreshTokenRepository).revokeSeries(current.getSeriesId());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void refresh_ShouldRejectExpiredToken() {
+        stored("old-token", false, LocalDateTime.now().minusMinutes(1));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.refresh("old-token"));
+
+        verify(refreshTokenRepository, never()).revokeIfActive(any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void refresh_ShouldRejectUnknownToken() {
+        when(refreshTokenRepository.findWithUserByTokenHash(any())).thenReturn(Optional.empty());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.refresh("unknown"));
+
+        assertEquals(1.0, meterRegistry.counter("auth.refresh", "outcome", "rejected").count());
+    }
+
+    @Test
+    void revoke_ShouldRevokeSeriesAndCurrentAccessTokens() {
+        RefreshToken current = stored("old-token", false, LocalDateTime.now().plusDays(1));
+
+        refreshTokenService.revoke("old-token");
+
+        verify(refreshTokenRepository).revokeSeries(current.getSeriesId());
+        verify(tokenRevocationList).revokeAll(user.getId());
+    }
+
+    private RefreshToken stored(String rawToken, boolean revoked, LocalDateTime expiresAt) {
+        RefreshToken token = new RefreshToken(1L, RefreshTokenService.hash(rawToken), user,
+                UUID.randomUUID(), expiresAt, revoked);
+        when(refreshTokenRepository.findWithUserByTokenHash(aryEq(token.getTokenHash()))).thenReturn(Optional.of(token));
+        return token;
+    }
+
+    private RefreshToken captureSaved() {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -7,12 +7,17 @@ import com.example.clanhubadv.dto.requests.UpdateProfileRequest;
 import com.example.clanhubadv.dto.responses.UserResponseDto;
 import com.example.clanhubadv.entity.Role;
 import com.example.clanhubadv.entity.User;
-import com.example.clanhubadv.repository.UserRegistrationLogRepository;
 import com.example.clanhubadv.repository.UserRepository;
+import com.example.clanhubadv.service.cache.UserDetailsCache;
+import com.example.clanhubadv.service.cache.FamilyTaskFeedCache;
 import com.example.clanhubadv.service.converter.UserConverter;
 import com.example.clanhubadv.service.exception.AlreadyExistException;
+import com.example.clanhubadv.service.exception.ExcessRegistrationLimitException;
 import com.example.clanhubadv.service.exception.NotFoundException;
 import com.example.clanhubadv.service.exception.UserAlreadyExistException;
+import com.example.clanhubadv.service.ratelimit.RateLimiter;
+import com.example.clanhubadv.service.ratelimit.RegistrationAuditLog;
+import com.example.clanhubadv.service.ratelimit.SlidingWindowRateLimiter;
 import com.example.clanhubadv.service.validation.ValidationService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,7 +25,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,6 +35,7 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class RegisterUserServiceTest {
@@ -45,7 +53,19 @@ class RegisterUserServiceTest {
     private IpAddressUtil ipAddressUtil;
 
     @Mock
-    private UserRegistrationLogRepository logRepository ;
+    private RateLimiter registrationRateLimiter;
+
+    @Mock
+    private RegistrationAuditLog registrationAuditLog;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    @Mock
+    private UserRegistrationStore userRegistrationStore;
+
+    @Mock
+    private FamilyTaskFeedCache familyTaskFeedCache;
 
     @InjectMocks
     private RegisterUserService registerUserService;
@@ -68,7 +88,7 @@ class RegisterUserServiceTest {
         when(mockRequest.getRemoteAddr()).thenReturn("192.168.1.100");
 
         when(ipAddressUtil.getClientIp(mockRequest)).thenCallRealMethod();
-        when(logRepository.countRecentRegistrations(anyString(), any(LocalDateTime.class))).thenReturn(0L);
+        when(registrationRateLimiter.isAllowed(anyString())).thenReturn(true);
 
         registrationRequest = new RegistrationRequest();
         registrationRequest.setUsername("testuser");
@@ -110,7 +130,7 @@ class RegisterUserServiceTest {
 
         when(validationService.userExists(anyString())).thenReturn(false);
         when(converter.createUserFromDto(any(RegistrationRequest.class))).thenReturn(newUser);
-        when(userRepository.save(any(User.class))).thenReturn(newUser);
+        when(userRegistrationStore.save(any(User.class))).thenReturn(newUser);
         when(converter.createDtoFromUser(any(User.class))).thenReturn(userResponseDto);
 //        when(mockRequest.getRemoteAddr()).thenReturn("192.168.1.100");
 //        when(mockRequest.getHeader("X-Forwarded-For")).thenReturn("203.0.113.195");
@@ -124,14 +144,24 @@ class RegisterUserServiceTest {
         assertEquals(userResponseDto.getEmail(), result.getEmail());
 
         verify(ipAddressUtil).getClientIp(mockRequest);
-        verify(logRepository).countRecentRegistrations(anyString(), any(LocalDateTime.class));
+        verify(registrationRateLimiter).isAllowed("192.168.1.100");
+        verify(registrationRateLimiter).record("192.168.1.100");
+        verify(registrationAuditLog).record(eq("192.168.1.100"), any(LocalDateTime.class));
 
         verify(validationService).userExists("test@example.com");
         verify(converter).createUserFromDto(registrationRequest);
-        verify(userRepository).save(newUser);
+        verify(userRegistrationStore).save(newUser);
         verify(converter).createDtoFromUser(newUser);
     }
 
+    @Test
+    void createNewUser_ShouldHashPasswordOutsideTransaction() throws Exception {
+        assertNull(RegisterUserService.class
+                .getMethod("createNewUser", RegistrationRequest.class, HttpServletRequest.class)
+                .getAnnotation(Transactional.class));
+        assertNotNull(UserRegistrationStore.class.getMethod("save", User.class).getAnnotation(Transactional.class));
+    }
+
     @Test
     void createNewUser_ShouldThrowExceptionWhenEmailExists() {
 
@@ -143,7 +173,52 @@ class RegisterUserServiceTest {
 
         verify(validationService).userExists("test@example.com");
         verify(converter, never()).createUserFromDto(any());
-        verify(userRepository, never()).save(any());
+        verify(userRegistrationStore, never()).save(any());
+        verify(registrationRateLimiter, never()).record(anyString());
+    }
+
+    @Test
+    void createNewUser_ShouldThrowExceptionWhenRateLimitExceeded() {
+
+        when(registrationRateLimiter.isAllowed("192.168.1.100")).thenReturn(false);
+
+        assertThrows(ExcessRegistrationLimitException.class, () ->
+                registerUserService.createNewUser(registrationRequest, mockRequest)
+        );
+
+        verify(validationService, never()).userExists(anyString());
+        verify(userRegistrationStore, never()).save(any());
+        verify(registrationAuditLog, never()).record(anyString(), any());
+    }
+
+    @Test
+    void createNewUser_ShouldNotSpendQuotaOnDuplicateEmail() {
+        RateLimiter limiter = new SlidingWindowRateLimiter(1, Duration.ofMinutes(60), 100);
+        registerUserService = new RegisterUserService(userRepository, converter, validationService, limiter,
+                registrationAuditLog, ipAddressUtil, userRegistrationStore, userDetailsCache, familyTaskFeedCache);
+        when(validationService.userExists("test@example.com")).thenReturn(true, false);
+        when(converter.createUserFromDto(any(RegistrationRequest.class))).thenReturn(newUser);
+        when(userRegistrationStore.save(any(User.class))).thenReturn(newUser);
+        when(converter.createDtoFromUser(any(User.class))).thenReturn(userResponseDto);
+
+        assertThrows(UserAlreadyExistException.class,
+                () -> registerUserService.createNewUser(registrationRequest, mockRequest));
+        // Единственная регистрация в окне всё ещё доступна
+        assertNotNull(registerUserService.createNewUser(registrationRequest, mockRequest));
+        assertThrows(ExcessRegistrationLimitException.class,
+                () -> registerUserService.createNewUser(registrationRequest, mockRequest));
+    }
+
+    @Test
+    void createNewUser_ShouldNotSpendQuota_WhenSaveFails() {
+        when(validationService.userExists(anyString())).thenReturn(false);
+        when(converter.createUserFromDto(any(RegistrationRequest.class))).thenReturn(newUser);
+        when(userRegistrationStore.save(any(User.class))).thenThrow(new IllegalStateException("constraint violation"));
+
+        assertThrows(IllegalStateException.class,
+                () -> registerUserService.createNewUser(registrationRequest, mockRequest));
+
+        verify(registrationRateLimiter, never()).record(anyString());
     }
 
     @Test
@@ -159,6 +234,7 @@ class RegisterUserServiceTest {
         verify(userRepository).findByEmail("test@example.com");
         verify(userRepository).save(newUser);
         verify(converter).createDtoFromUser(newUser);
+        verify(userDetailsCache).evict("test@example.com");
     }
 
     @Test
@@ -0,0 +1,128 @@
+package com.example.clanhubadv.service;
+
+import com.example.clanhubadv.Security.JWT.JwtCore;
+import com.example.clanhubadv.Security.JWT.UserDetailImpl;
+import com.example.clanhubadv.dto.requests.signInUp.LoginRequest;
+import com.example.clanhubadv.dto.responses.signInUp.AuthResponseDto;
+import com.example.clanhubadv.entity.Role;
+import com.example.clanhubadv.entity.User;
+import com.example.clanhubadv.repository.UserRepository;
+import com.example.clanhubadv.service.cache.UserDetailsCache;
+import com.example.clanhubadv.service.converter.UserConverter;
+import com.example.clanhubadv.service.exception.NonExistingEmailException;
+import com.example.clanhubadv.service.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SignInServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private JwtCore jwtCore;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Spy
+    private UserConverter userConverter = new UserConverter(null, null, null);
+
+    @InjectMocks
+    private SignInService signInService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("TestUser");
+        user.setEmail("test@example.com");
+        user.setPassword("{bcrypt}hash");
+        user.setRole(new Role("USER"));
+
+        when(userRepository.findWithRoleByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(jwtCore.createToken(any(UserDetailImpl.class))).thenReturn("test.jwt.token");
+        when(refreshTokenService.issue(user)).thenReturn("refresh-token");
+    }
+
+    @Test
+    void signIn_ShouldLoadUserOnceAndBuildResponseFromIt() {
+        when(passwordEncoder.matches("Test!123", "{bcrypt}hash")).thenReturn(true);
+
+        AuthResponseDto response = signInService.signIn(new LoginRequest("test@example.com", "Test!123"));
+
+        assertEquals("test.jwt.token", response.getToken());
+        assertEquals("refresh-token", response.getRefreshToken());
+        assertEquals("test@example.com", response.getEmail());
+        assertEquals("Login successful", response.getMessage());
+        assertEquals(user.getId(), response.getUser().getId());
+        assertEquals("USER", response.getUser().getRole().getRoleName());
+
+        verify(userRepository, times(1)).findWithRoleByEmail("test@example.com");
+        verifyNoMoreInteractions(userRepository);
+        verify(passwordEncoder, never()).encode(anyString());
+    }
+
+    @Test
+    void signIn_ShouldThrowValidationException_WhenPasswordIsWrong() {
+        when(passwordEncoder.matches("WrongPassword", "{bcrypt}hash")).thenReturn(false);
+
+        assertThrows(ValidationException.class,
+                () -> signInService.signIn(new LoginRequest("test@example.com", "WrongPassword")));
+
+        verifyNoInteractions(jwtCore, refreshTokenService);
+    }
+
+    @Test
+    void signIn_ShouldThrowNonExistingEmailException_WhenEmailIsUnknown() {
+        when(userRepository.findWithRoleByEmail("missing@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(NonExistingEmailException.class,
+                () -> signInService.signIn(new LoginRequest("missing@example.com", "Test!123")));
+
+        verifyNoInteractions(passwordEncoder, jwtCore);
+    }
+
+    @Test
+    void signIn_ShouldUpgradeOutdatedHash() {
+        when(passwordEncoder.matches("Test!123", "{bcrypt}hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("{bcrypt}hash")).thenReturn(true);
+        when(passwordEncoder.encode("Test!123")).thenReturn("{bcrypt}new-hash");
+
+        signInService.signIn(new LoginRequest("test@example.com", "Test!123"));
+
+        assertEquals("{bcrypt}new-hash", user.getPassword());
+        verify(userRepository).save(user);
+        verify(userDetailsCache).evict("test@example.com");
+    }
+
+    @Test
+    void signIn_ShouldNotHoldTransactionWhileCheckingPassword() throws Exception {
+        assertNull(SignInService.class.getMethod("signIn", LoginRequest.class).getAnnotation(Transactional.class));
+        assertNull(SignInService.class.getAnnotation(Transactional.class));
+    }
+}
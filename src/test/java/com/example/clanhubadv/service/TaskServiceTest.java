@@ -0,0 +1,249 @@
+package com.example.clanhubadv.service;
+
+import com.example.clanhubadv.dto.requests.task.TaskRequest;
+import com.example.clanhubadv.dto.responses.task.TaskBatchResponseDto;
+import com.example.clanhubadv.dto.responses.task.TaskBulkStatusResponseDto;
+import com.example.clanhubadv.dto.responses.task.TaskKeysetPageResponseDto;
+import com.example.clanhubadv.dto.responses.task.TaskResponseDto;
+import com.example.clanhubadv.entity.Task;
+import com.example.clanhubadv.entity.TaskStatus;
+import com.example.clanhubadv.entity.User;
+import com.example.clanhubadv.repository.TaskRepository;
+import com.example.clanhubadv.repository.UserRepository;
+import com.example.clanhubadv.service.cache.FamilyTaskFeedCache;
+import com.example.clanhubadv.service.converter.TaskConverter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class TaskServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskConverter taskConverter;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private FamilyTaskFeedCache familyTaskFeedCache;
+
+    @InjectMocks
+    private TaskService taskService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("test@example.com");
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(taskConverter.convertTasksToDto(anyList()))
+                .thenAnswer(invocation -> {
+                    List<Task> tasks = invocation.getArgument(0);
+                    List<TaskResponseDto> dtos = new ArrayList<>();
+                    tasks.forEach(task -> {
+                        TaskResponseDto dto = new TaskResponseDto();
+                        dto.setId(task.getId());
+                        dtos.add(dto);
+                    });
+                    return dtos;
+                });
+    }
+
+    @Test
+    void getTasksAfter_ShouldReturnCursorOfLastTask_WhenMoreTasksExist() {
+        List<Task> tasks = tasks(3);
+        when(taskRepository.findFirstTasksWithFilters(eq(user.getId()), isNull(), isNull(), isNull(), isNull(), isNull(),
+                eq(PageRequest.of(0, 3)))).thenReturn(tasks);
+
+        TaskKeysetPageResponseDto page = taskService.getTasksAfter(
+                "test@example.com", null, null, null, null, null, null, null, 2);
+
+        assertEquals(2, page.getTasks().size());
+        assertTrue(page.isHasNext());
+        assertEquals(tasks.get(1).getId(), page.getNextId());
+        assertEquals(tasks.get(1).getCreatedAt(), page.getNextCreatedAt());
+    }
+
+    @Test
+    void getTasksAfter_ShouldSeekPastCursor_AndReportLastPage() {
+        LocalDate afterCreatedAt = LocalDate.of(2025, 3, 1);
+        UUID afterId = UUID.randomUUID();
+        List<Task> tasks = tasks(1);
+        when(taskRepository.findNextTasksWithFilters(eq(user.getId()), eq(afterCreatedAt), eq(afterId),
+                isNull(), isNull(), isNull(), isNull(), isNull(), any())).thenReturn(tasks);
+
+        TaskKeysetPageResponseDto page = taskService.getTasksAfter(
+                "test@example.com", afterCreatedAt, afterId, null, null, null, null, null, 10);
+
+        assertEquals(1, page.getTasks().size());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextId());
+        verify(taskRepository, never()).findFirstTasksWithFilters(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getTasksAfter_ShouldRejectHalfCursor() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksAfter(
+                "test@example.com", LocalDate.now(), null, null, null, null, null, null, 10));
+    }
+
+    @Test
+    void getTasks_ShouldRejectUnknownSortField() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasks(
+                "test@example.com", null, null, null, null, null, 0, 10, "password", "DESC"));
+    }
+
+    @Test
+    void streamTasksForUser_ShouldPassEachTaskToConsumerAndDetachIt() {
+        List<Task> tasks = tasks(3);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(taskRepository.streamByCreatedByEmail("test@example.com"))
+                .thenReturn(tasks.stream().onClose(() -> closed.set(true)));
+        when(taskConverter.convertToListDto(any(Task.class), anyMap())).thenAnswer(invocation -> {
+            TaskResponseDto dto = new TaskResponseDto();
+            dto.setId(((Task) invocation.getArgument(0)).getId());
+            return dto;
+        });
+
+        List<UUID> streamed = new ArrayList<>();
+        taskService.streamTasksForUser("test@example.com", dto -> streamed.add(dto.getId()));
+
+        assertEquals(tasks.stream().map(Task::getId).toList(), streamed);
+        tasks.forEach(task -> verify(entityManager).detach(task));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void createTask_ShouldPutTaskIntoCreatorsFamilyAndEvictFamilyFeed() {
+        UUID familyId = UUID.randomUUID();
+        user.setFamilyID(familyId);
+
+        taskService.createTask(new TaskRequest("Buy groceries", null, LocalDate.of(2025, 3, 31), null, 3), "test@example.com");
+
+        ArgumentCaptor<Task> captor = ArgumentCaptor.forClass(Task.class);
+        verify(taskRepository).save(captor.capture());
+        assertEquals(familyId, captor.getValue().getFamilyId());
+        verify(familyTaskFeedCache).evict(familyId);
+    }
+
+    @Test
+    void createTasks_ShouldSaveAllTasksInOneCallAndEvictFeedOnce() {
+        UUID familyId = UUID.randomUUID();
+        user.setFamilyID(familyId);
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Task> saved = invocation.getArgument(0);
+            saved.forEach(task -> task.setId(UUID.randomUUID()));
+            return saved;
+        });
+        List<TaskRequest> requests = List.of(
+                new TaskRequest("Wash dishes", null, LocalDate.of(2025, 3, 31), null, 1),
+                new TaskRequest("Take out trash", null, LocalDate.of(2025, 4, 1), TaskStatus.IN_PROGRESS, 2));
+
+        TaskBatchResponseDto result = taskService.createTasks(requests, "test@example.com");
+
+        ArgumentCaptor<List<Task>> captor = ArgumentCaptor.forClass(List.class);
+        verify(taskRepository).saveAll(captor.capture());
+        List<Task> saved = captor.getValue();
+        assertEquals(2, saved.size());
+        assertEquals(TaskStatus.NEW, saved.get(0).getStatus());
+        assertEquals(TaskStatus.IN_PROGRESS, saved.get(1).getStatus());
+        saved.forEach(task -> {
+            assertEquals(familyId, task.getFamilyId());
+            assertSame(user, task.getCreatedBy());
+        });
+        assertEquals(2, result.getCreated());
+        assertEquals(saved.stream().map(Task::getId).toList(), result.getIds());
+        verify(userRepository, times(1)).findByEmail("test@example.com");
+        verify(taskRepository, never()).save(any());
+        verify(familyTaskFeedCache, times(1)).evict(familyId);
+    }
+
+    @Test
+    void updateTaskStatuses_ShouldCompleteOwnTasksWithOneUpdate() {
+        UUID familyId = UUID.randomUUID();
+        user.setFamilyID(familyId);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(taskRepository.completeOwnTasks(anyCollection(), eq(user.getId()), any())).thenReturn(2);
+
+        TaskBulkStatusResponseDto result = taskService.updateTaskStatuses(
+                List.of(first, second, first), TaskStatus.COMPLETED, "test@example.com");
+
+        verify(taskRepository).completeOwnTasks(eq(Set.of(first, second)), eq(user.getId()), any());
+        verify(taskRepository, never()).updateStatusOfOwnTasks(any(), any(), any());
+        verify(taskRepository, never()).findById(any());
+        assertEquals(2, result.getRequested());
+        assertEquals(2, result.getUpdated());
+        verify(familyTaskFeedCache).evict(familyId);
+    }
+
+    @Test
+    void updateTaskStatuses_ShouldNotEvictFeed_WhenNoOwnTaskMatched() {
+        when(taskRepository.updateStatusOfOwnTasks(anyCollection(), eq(user.getId()), eq(TaskStatus.IN_PROGRESS))).thenReturn(0);
+
+        TaskBulkStatusResponseDto result = taskService.updateTaskStatuses(
+                List.of(UUID.randomUUID()), TaskStatus.IN_PROGRESS, "test@example.com");
+
+        assertEquals(1, result.getRequested());
+        assertEquals(0, result.getUpdated());
+        verify(taskRepository, never()).completeOwnTasks(any(), any(), any());
+        verifyNoInteractions(familyTaskFeedCache);
+    }
+
+    @Test
+    void deleteTask_ShouldEvictFamilyFeedOfDeletedTask() {
+        Task task = tasks(1).get(0);
+        task.setFamilyId(UUID.randomUUID());
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+
+        taskService.deleteTask(task.getId());
+
+        verify(taskRepository).delete(task);
+        verify(familyTaskFeedCache).evict(task.getFamilyId());
+    }
+
+    private List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setId(UUID.randomUUID());
+            task.setCreatedAt(LocalDate.of(2025, 3, 10).minusDays(i));
+            task.setCreatedBy(user);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
@@ -1,14 +1,17 @@
 package com.example.clanhubadv.service;
 
+import com.example.clanhubadv.Security.JWT.TokenRevocationList;
 import com.example.clanhubadv.Security.JWT.UserDetailImpl;
 import com.example.clanhubadv.entity.User;
 import com.example.clanhubadv.repository.UserRepository;
 import com.example.clanhubadv.service.UserService;
+import com.example.clanhubadv.service.cache.UserDetailsCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.util.Optional;
@@ -22,6 +25,12 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private UserDetailsCache userDetailsCache = new UserDetailsCache(true, 100, 60);
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
     @InjectMocks
     private UserService userService;
 
@@ -60,4 +69,59 @@ class UserServiceTest {
 
         verify(userRepository, times(1)).findByEmail("notfound@example.com");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("cached@example.com");
+        user.setPassword("encoded_password");
+
+        when(userRepository.findByEmail("cached@example.com")).thenReturn(Optional.of(user));
+
+        userService.loadUserByUsername("cached@example.com");
+        userService.loadUserByUsername("cached@example.com");
+
+        verify(userRepository, times(1)).findByEmail("cached@example.com");
+        assertEquals(1, userDetailsCache.getHitCount());
+        assertEquals(1, userDetailsCache.getMissCount());
+    }
+
+    @Test
+    void shouldReloadUserAfterEviction() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("evicted@example.com");
+        user.setPassword("old_password");
+
+        when(userRepository.findByEmail("evicted@example.com")).thenReturn(Optional.of(user));
+        userService.loadUserByUsername("evicted@example.com");
+
+        userDetailsCache.evict("evicted@example.com");
+        user.setPassword("new_password");
+
+        UserDetailImpl reloaded = (UserDetailImpl) userService.loadUserByUsername("evicted@example.com");
+
+        assertEquals("new_password", reloaded.getPassword());
+        verify(userRepository, times(2)).findByEmail("evicted@example.com");
+        assertEquals(1, userDetailsCache.getInvalidationCount());
+    }
+
+    @Test
+    void deleteUserById_ShouldEvictCachedUser() {
+        UUID userId = UUID.randomUUID();
+        User user = new User();
+        user.setId(userId);
+        user.setEmail("deleted@example.com");
+        user.setPassword("encoded_password");
+
+        when(userRepository.findByEmail("deleted@example.com")).thenReturn(Optional.of(user));
+        userService.loadUserByUsername("deleted@example.com");
+
+        userService.deleteUserById(userId);
+
+        verify(userRepository).deleteById(userId);
+        verify(tokenRevocationList).revokeAll(userId);
+        assertEquals(0, userDetailsCache.getSize());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.clanhubadv.service.converter;
+
+import com.example.clanhubadv.dto.responses.UserResponseDto;
+import com.example.clanhubadv.dto.responses.task.TaskResponseDto;
+import com.example.clanhubadv.dto.responses.task.TaskResponseInCalendarDto;
+import com.example.clanhubadv.entity.Task;
+import com.example.clanhubadv.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TaskConverterTest {
+
+    @Mock
+    private UserConverter userConverter;
+
+    @InjectMocks
+    private TaskConverter taskConverter;
+
+    private User creator;
+    private User assignee;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        creator = user("creator@example.com");
+        assignee = user("assignee@example.com");
+
+        when(userConverter.createDtoFromUser(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            UserResponseDto dto = new UserResponseDto();
+            dto.setId(user.getId());
+            dto.setEmail(user.getEmail());
+            return dto;
+        });
+    }
+
+    @Test
+    void convertTasksToDto_ShouldBuildEachUserDtoOncePerBatch() {
+        List<Task> tasks = tasks(100);
+
+        List<TaskResponseDto> result = taskConverter.convertTasksToDto(tasks);
+
+        assertEquals(100, result.size());
+        verify(userConverter, times(1)).createDtoFromUser(creator);
+        verify(userConverter, times(1)).createDtoFromUser(assignee);
+        assertSame(result.get(0).getCreatedBy(), result.get(99).getCreatedBy());
+        assertEquals(assignee.getId(), result.get(1).getAssignedTo().getId());
+    }
+
+    @Test
+    void convertTasksForCalendarToDto_ShouldBuildEachUserDtoOncePerBatch() {
+        List<Task> tasks = tasks(50);
+
+        List<TaskResponseInCalendarDto> result = taskConverter.convertTasksForCalendarToDto(tasks);
+
+        assertEquals(50, result.size());
+        verify(userConverter, times(1)).createDtoFromUser(creator);
+        verify(userConverter, times(1)).createDtoFromUser(assignee);
+        assertEquals(creator.getId(), result.get(0).getAssignedTo().getId());
+    }
+
+    @Test
+    void convertTasksToDto_ShouldThrowException_WhenListIsNull() {
+        assertThrows(NullPointerException.class, () -> taskConverter.convertTasksToDto(null));
+    }
+
+    private List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setId(UUID.randomUUID());
+            task.setTitle("Task " + i);
+            task.setCreatedBy(creator);
+            task.setAssignedTo(i % 2 == 0 ? creator : assignee);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail(email);
+        return user;
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.clanhubadv.service.email;
+
+import com.example.clanhubadv.entity.OutboxEmail;
+import com.example.clanhubadv.entity.OutboxEmailStatus;
+import com.example.clanhubadv.repository.OutboxEmailRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EmailOutboxTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock
+    private OutboxEmailRepository outboxRepository;
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final TaskExecutor taskExecutor = new SyncTaskExecutor();
+
+    private EmailOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        outbox = new EmailOutbox(mailSender, outboxRepository, transactionManager, taskExecutor, true, 100, 3, 10, 100, 300000);
+    }
+
+    @Test
+    void enqueue_ShouldStorePendingRowInsteadOfSending() {
+        outbox.enqueue(message("user@example.com", "Code 123456"));
+
+        ArgumentCaptor<OutboxEmail> captor = ArgumentCaptor.forClass(OutboxEmail.class);
+        verify(outboxRepository).save(captor.capture());
+        OutboxEmail stored = captor.getValue();
+        assertEquals(OutboxEmailStatus.PENDING, stored.getStatus());
+        assertEquals("user@example.com", stored.getRecipient());
+        assertEquals("Code 123456", stored.getBody());
+        assertEquals(0, stored.getAttempts());
+        assertNotNull(stored.getNextAttemptAt());
+        verifyNoInteractions(mailSender);
+    }
+
+    @Test
+    void enqueue_ShouldSendSynchronously_WhenDisabled() {
+        outbox = new EmailOutbox(mailSender, outboxRepository, transactionManager, taskExecutor, false, 100, 3, 10, 100, 300000);
+        SimpleMailMessage message = message("user@example.com", "Code");
+
+        outbox.enqueue(message);
+
+        verify(mailSender).send(message);
+        verifyNoInteractions(outboxRepository);
+    }
+
+    @Test
+    void enqueue_ShouldSendOnlyAfterCommit_WhenDisabledInsideTransaction() {
+        outbox = new EmailOutbox(mailSender, outboxRepository, transactionManager, taskExecutor, false, 100, 3, 10, 100, 300000);
+        SimpleMailMessage message = message("user@example.com", "Code");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            outbox.enqueue(message);
+            verify(mailSender, never()).send(any(SimpleMailMessage.class));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(mailSender).send(message);
+    }
+
+    @Test
+    void dispatchBatch_ShouldSendWholeBatchOverOneConnectionToFakeSmtpServer() throws Exception {
+        JavaMailSenderImpl smtpSender = spy(new JavaMailSenderImpl());
+        smtpSender.setHost("localhost");
+        smtpSender.setPort(ServerSetupTest.SMTP.getPort());
+        outbox = new EmailOutbox(smtpSender, outboxRepository, transactionManager, taskExecutor, true, 100, 3, 10, 100, 300000);
+        List<OutboxEmail> batch = pending(5);
+        when(outboxRepository.findDueForDispatch(eq(OutboxEmailStatus.PENDING), any(), any())).thenReturn(batch);
+
+        int handled = outbox.dispatchBatch();
+
+        assertEquals(5, handled);
+        assertTrue(greenMail.waitForIncomingEmail(5000, 5));
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(5, received.length);
+        assertEquals("Family Planner - Test", received[0].getSubject());
+        assertTrue(GreenMailUtil.getBody(received[0]).startsWith("Code "));
+        verify(smtpSender, times(1)).send(any(MimeMessage[].class));
+        batch.forEach(email -> {
+            assertEquals(OutboxEmailStatus.SENT, email.getStatus());
+            assertNotNull(email.getSentAt());
+        });
+        assertEquals(5, outbox.getSentCount());
+    }
+
+    @Test
+    void dispatchBatch_ShouldSendAfterClaimCommitsAndRecordResultInSecondTransaction() {
+        List<OutboxEmail> batch = pending(2);
+        when(outboxRepository.findDueForDispatch(eq(OutboxEmailStatus.PENDING), any(), any())).thenReturn(batch);
+        doAnswer(invocation -> {
+            // На время отправки строки захвачены: next_attempt_at сдвинут на claim-timeout
+            LocalDateTime claimedUntil = LocalDateTime.now().plusMinutes(4);
+            batch.forEach(email -> assertTrue(email.getNextAttemptAt().isAfter(claimedUntil)));
+            return null;
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        outbox.dispatchBatch();
+
+        InOrder inOrder = inOrder(transactionManager, outboxRepository, mailSender);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(outboxRepository).findDueForDispatch(eq(OutboxEmailStatus.PENDING), any(), any());
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(mailSender).send(any(MimeMessage[].class));
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(outboxRepository).saveAll(batch);
+        inOrder.verify(transactionManager).commit(any());
+        batch.forEach(email -> assertEquals(OutboxEmailStatus.SENT, email.getStatus()));
+    }
+
+    @Test
+    void dispatchBatch_ShouldRescheduleOnlyMessagesThatFailed() {
+        List<OutboxEmail> batch = pending(2);
+        when(outboxRepository.findDueForDispatch(eq(OutboxEmailStatus.PENDING), any(), any())).thenReturn(batch);
+        doAnswer(invocation -> {
+            MimeMessage[] messages = (MimeMessage[]) invocation.getRawArguments()[0];
+            throw new MailSendException(Map.of(messages[0], new Exception("mailbox busy")));
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        outbox.dispatchBatch();
+
+        OutboxEmail failed = batch.get(0);
+        assertEquals(OutboxEmailStatus.PENDING, failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+        assertTrue(failed.getNextAttemptAt().isAfter(LocalDateTime.now().minusSeconds(1)));
+        assertEquals("mailbox busy", failed.getLastError());
+        assertEquals(OutboxEmailStatus.SENT, batch.get(1).getStatus());
+        assertEquals(1, outbox.getRetryCount());
+    }
+
+    @Test
+    void dispatchBatch_ShouldRetryWholeBatch_WhenConnectionFails() {
+        List<OutboxEmail> batch = pending(3);
+        when(outboxRepository.findDueForDispatch(eq(OutboxEmailStatus.PENDING), any(), any())).thenReturn(batch);
+        doThrow(new MailAuthenticationException("bad credentials")).when(mailSender).send(any(MimeMessage[].class));
+
+        outbox.dispatchBatch();
+
+        batch.forEach(email -> {
+            assertEquals(OutboxEmailStatus.PENDING, email.getStatus());
+            assertEquals(1, email.getAttempts());
+        });
+        assertEquals(3, outbox.getRetryCount());
+        assertEquals(0, outbox.getSentCount());
+    }
+
+    @Test
+    void dispatchBatch_ShouldGiveUpAfterMaxAttempts() {
+        List<OutboxEmail> batch = pending(1);
+        batch.get(0).setAttempts(2);
+        when(outboxRepository.findDueForDispatch(eq(OutboxEmailStatus.PENDING), any(), any())).thenReturn(batch);
+        doThrow(new MailAuthenticationException("bad credentials")).when(mailSender).send(any(MimeMessage[].class));
+
+        outbox.dispatchBatch();
+
+        assertEquals(OutboxEmailStatus.FAILED, batch.get(0).getStatus());
+        assertEquals(3, batch.get(0).getAttempts());
+        assertEquals(1, outbox.getFailedCount());
+    }
+
+    @Test
+    void dispatchBatch_ShouldDoNothing_WhenQueueIsEmpty() {
+        when(outboxRepository.findDueForDispatch(eq(OutboxEmailStatus.PENDING), any(), any())).thenReturn(List.of());
+
+        assertEquals(0, outbox.dispatchBatch());
+        verify(mailSender, never()).send(any(MimeMessage[].class));
+    }
+
+    @Test
+    void backoffMillis_ShouldGrowExponentiallyUpToMax() {
+        outbox = new EmailOutbox(mailSender, outboxRepository, transactionManager, taskExecutor, true, 100, 5, 100, 1000, 300000);
+
+        assertEquals(100, outbox.backoffMillis(1));
+        assertEquals(200, outbox.backoffMillis(2));
+        assertEquals(400, outbox.backoffMillis(3));
+        assertEquals(1000, outbox.backoffMillis(10));
+    }
+
+    private List<OutboxEmail> pending(int count) {
+        List<OutboxEmail> emails = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            OutboxEmail email = new OutboxEmail();
+            email.setId((long) i + 1);
+            email.setSender("noreply@example.com");
+            email.setRecipient("user" + i + "@example.com");
+            email.setSubject("Family Planner - Test");
+            email.setBody("Code " + i);
+            email.setStatus(OutboxEmailStatus.PENDING);
+            email.setCreatedAt(LocalDateTime.now());
+            email.setNextAttemptAt(LocalDateTime.now());
+            emails.add(email);
+        }
+        return emails;
+    }
+
+    private SimpleMailMessage message(String to, String text) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@example.com");
+        message.setTo(to);
+        message.setSubject("Family Planner - Test");
+        message.setText(text);
+        return message;
+    }
+}
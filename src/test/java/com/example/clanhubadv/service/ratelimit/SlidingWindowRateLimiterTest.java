@@ -0,0 +1,100 @@
+package com.example.clanhubadv.service.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowRateLimiterTest {
+
+    private MutableClock clock;
+    private SlidingWindowRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-03-01T10:00:00Z"));
+        rateLimiter = new SlidingWindowRateLimiter(3, Duration.ofMinutes(5), 1000, clock);
+    }
+
+    @Test
+    void isAllowed_ShouldCountEachKeySeparately() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.record("10.0.0.1");
+        }
+
+        assertFalse(rateLimiter.isAllowed("10.0.0.1"));
+        assertTrue(rateLimiter.isAllowed("10.0.0.2"));
+    }
+
+    @Test
+    void isAllowed_ShouldAllowAgainOnceOldestRequestLeavesWindow() {
+        rateLimiter.record("10.0.0.1");
+        clock.advance(Duration.ofMinutes(2));
+        rateLimiter.record("10.0.0.1");
+        rateLimiter.record("10.0.0.1");
+        assertFalse(rateLimiter.isAllowed("10.0.0.1"));
+
+        clock.advance(Duration.ofMinutes(3));
+
+        assertTrue(rateLimiter.isAllowed("10.0.0.1"));
+        rateLimiter.record("10.0.0.1");
+        assertFalse(rateLimiter.isAllowed("10.0.0.1"));
+    }
+
+    @Test
+    void isAllowed_ShouldNotCountRequestUntilRecorded() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(rateLimiter.isAllowed("10.0.0.1"));
+        }
+
+        rateLimiter.record("10.0.0.1");
+        rateLimiter.record("10.0.0.1");
+        assertTrue(rateLimiter.isAllowed("10.0.0.1"));
+        rateLimiter.record("10.0.0.1");
+
+        assertFalse(rateLimiter.isAllowed("10.0.0.1"));
+
+        clock.advance(Duration.ofMinutes(5));
+        assertTrue(rateLimiter.isAllowed("10.0.0.1"));
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveLimit() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SlidingWindowRateLimiter(0, Duration.ofMinutes(5), 1000));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
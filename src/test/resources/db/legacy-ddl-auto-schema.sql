@@ -0,0 +1,75 @@
+-- Schema of a database created by hibernate.ddl-auto=update before the app moved to Flyway:
+-- no user.token_version, task.status as a native ENUM. Loaded through the H2 INIT url parameter
+-- (on every connection, hence IF NOT EXISTS) to check that baseline + migrations bring it up to date.
+
+CREATE TABLE IF NOT EXISTS role
+(
+    id        BINARY(16)   NOT NULL,
+    role_name VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS `user`
+(
+    id            BINARY(16)   NOT NULL,
+    username      VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    password      VARCHAR(255) NOT NULL,
+    role_id       BINARY(16),
+    familyid      BINARY(16),
+    invite_code   BINARY(16),
+    avatar_id     VARCHAR(255),
+    age           INTEGER,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_email UNIQUE (email),
+    CONSTRAINT fk_user_role FOREIGN KEY (role_id) REFERENCES role (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS family
+(
+    id            BINARY(16)   NOT NULL,
+    name          VARCHAR(255) NOT NULL,
+    admin_user_id BINARY(16)   NOT NULL,
+    invite_code   BINARY(16)   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_family_name UNIQUE (name),
+    CONSTRAINT uk_family_invite_code UNIQUE (invite_code)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS task
+(
+    id              BINARY(16)   NOT NULL,
+    title           VARCHAR(255) NOT NULL,
+    description     VARCHAR(300),
+    due_date        DATE,
+    created_at      DATE         NOT NULL,
+    completed       BIT          NOT NULL,
+    status          ENUM ('NEW', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED'),
+    assigned_to     BINARY(16),
+    created_by      BINARY(16)   NOT NULL,
+    family_id       BINARY(16),
+    priority        INTEGER,
+    completion_date DATE,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_task_assigned_to FOREIGN KEY (assigned_to) REFERENCES `user` (id),
+    CONSTRAINT fk_task_created_by FOREIGN KEY (created_by) REFERENCES `user` (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS password_reset_token
+(
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    token       VARCHAR(255) NOT NULL,
+    expiry_date DATETIME(6)  NOT NULL,
+    user_id     BINARY(16)   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_password_reset_token_token UNIQUE (token),
+    CONSTRAINT fk_password_reset_token_user FOREIGN KEY (user_id) REFERENCES `user` (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_registration_log
+(
+    id                BIGINT      NOT NULL AUTO_INCREMENT,
+    ip_address        VARCHAR(255),
+    registration_time DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;